@@ -0,0 +1,65 @@
+package com.projects.studentrestapi.cache;
+
+import com.projects.studentrestapi.entity.Student;
+import com.projects.studentrestapi.event.StudentChangedEvent;
+import com.projects.studentrestapi.event.StudentsImportedEvent;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Evicts Hibernate's second-level and query caches for writes Hibernate cannot see on its own: native
+ * inserts ({@code INSERT ... RETURNING} runs as a query), bulk deletes and imports issued over plain JDBC and writes
+ * made by other replicas. Local native writes invalidate the {@code students} query space themselves (see
+ * {@code CustomStudentRepositoryImpl}), so local changes only evict the students they removed; cached query
+ * results are dropped wholesale only for imports and for other replicas' writes (once per notification).
+ * <p>
+ * Every committed change this node learns about is counted, updates included, so a read replica can tell whether
+ * it has caught up with what the caches have dropped (see {@code ReplicaLagMonitor}).
+ */
+@Component
+@RequiredArgsConstructor
+public class HibernateCacheEvictor {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentChanged(StudentChangedEvent event) {
+        evictionCount.incrementAndGet();
+        // A bulk delete publishes one event per student; the query cache was invalidated once by its statement
+        if (event.getChangeType() == StudentChangedEvent.ChangeType.DELETED) {
+            evictStudent(event.getId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentsImported(StudentsImportedEvent event) {
+        evictQueryResults();
+    }
+
+    public void evictStudent(long id) {
+        evictionCount.incrementAndGet();
+        entityManagerFactory.getCache().evict(Student.class, id);
+    }
+
+    public void evictQueryResults() {
+        evictionCount.incrementAndGet();
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictDefaultQueryRegion();
+    }
+
+    public void evictAll() {
+        evictionCount.incrementAndGet();
+        entityManagerFactory.getCache().evictAll();
+        evictQueryResults();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+}
@@ -0,0 +1,113 @@
+package com.projects.studentrestapi.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.projects.studentrestapi.entity.Student;
+import com.projects.studentrestapi.event.StudentChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache of students by id (Caffeine, W-TinyLFU eviction).
+ * <p>
+ * Entries are evicted only after the write that changed them has committed. A load that races with a
+ * write cannot leave a stale entry behind: the entry is a future that is in the cache from the start of the
+ * load, so the eviction removes it and the (possibly old) value is never cached.
+ * <p>
+ * Concurrent misses on one key share a single load, run by the first caller outside of Caffeine's map locks.
+ * Loads block on JDBC, and blocking while holding a monitor would pin a virtual thread to its carrier.
+ * <p>
+ * Stored and returned students are copies, so callers may modify what they get without touching the cache.
+ * Statistics are published under the {@code cache.*} metrics with {@code cache=students}.
+ */
+@Component
+public class StudentCache implements MeterBinder {
+
+    private final AsyncCache<Long, Student> cache;
+
+    public StudentCache(@Value("${student.cache.maximum-size:10000}") long maximumSize,
+                        @Value("${student.cache.expire-after-write:10m}") Duration expireAfterWrite) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .buildAsync();
+    }
+
+    public Optional<Student> get(long id, Function<Long, Optional<Student>> loader) {
+        CompletableFuture<Student> load = new CompletableFuture<>();
+        CompletableFuture<Student> student = cache.get(id, (key, executor) -> load);
+        if (student == load) {
+            // Completing with null (not found) or an exception drops the entry
+            try {
+                load.complete(loader.apply(id).map(StudentCache::copy).orElse(null));
+            } catch (RuntimeException | Error exception) {
+                load.completeExceptionally(exception);
+                throw exception;
+            }
+        }
+        try {
+            return Optional.ofNullable(student.join()).map(StudentCache::copy);
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw exception;
+        }
+    }
+
+    /**
+     * Looks up many students at once: hits come from the cache, misses from a single call to {@code loader}.
+     * Loaded students are not cached, because a bulk load cannot hold every key's lock against a racing eviction.
+     *
+     * @return the students found, by id
+     */
+    public Map<Long, Student> getAll(Collection<Long> ids, Function<Collection<Long>, List<Student>> loader) {
+        // In-flight loads are not waited for
+        Map<Long, Student> students = new HashMap<>(cache.synchronous().getAllPresent(ids));
+        students.replaceAll((id, student) -> copy(student));
+        List<Long> missingIds = ids.stream()
+                .filter(id -> !students.containsKey(id))
+                .toList();
+        if (!missingIds.isEmpty()) {
+            loader.apply(missingIds).forEach(student -> students.put(student.getId(), student));
+        }
+        return students;
+    }
+
+    public void evict(long id) {
+        cache.synchronous().invalidate(id);
+    }
+
+    public void evictAll() {
+        cache.synchronous().invalidateAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentChanged(StudentChangedEvent event) {
+        evict(event.getId());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache.synchronous(), "students");
+    }
+
+    private static Student copy(Student student) {
+        return student.toBuilder().build();
+    }
+}
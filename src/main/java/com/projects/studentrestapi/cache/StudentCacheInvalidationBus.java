@@ -0,0 +1,251 @@
+package com.projects.studentrestapi.cache;
+
+import com.projects.studentrestapi.event.StudentChangedEvent;
+import com.projects.studentrestapi.event.StudentsImportedEvent;
+import com.projects.studentrestapi.search.StudentSuggestionIndex;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Keeps the {@link StudentCache}, Hibernate caches and {@link StudentSuggestionIndex} of every replica coherent
+ * through Postgres LISTEN/NOTIFY.
+ * <p>
+ * Ids of committed changes are queued and sent in batches ({@code pg_notify} payloads of comma-separated
+ * ids, prefixed with this node's id so a node ignores its own messages). A dedicated connection listens on
+ * the channel and evicts the ids it receives, along with the local query cache. A bulk import is announced
+ * with {@code *} in place of the ids, and drops every local cache and rebuilds the suggestion index. Whenever
+ * that connection is (re)established all local caches are dropped, and on reconnects the suggestion index is
+ * rebuilt, because notifications sent while it was down are lost. A notification that cannot be applied drops
+ * every local cache as well, rather than leaving the ids it carried stale.
+ * <p>
+ * The listening connection is held for the lifetime of the application and counts against the pool size.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "student.cache.invalidation.enabled", havingValue = "true")
+public class StudentCacheInvalidationBus {
+
+    // pg_notify payloads must stay below 8000 bytes
+    private static final int MAX_PAYLOAD_LENGTH = 7900;
+
+    private static final long LISTEN_TIMEOUT_MILLIS = 1000;
+
+    private static final long RECONNECT_DELAY_MILLIS = 2000;
+
+    private static final String ALL_STUDENTS = "*";
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Queue<Long> pendingIds = new ConcurrentLinkedQueue<>();
+
+    private final StudentCache studentCache;
+
+    private final HibernateCacheEvictor hibernateCacheEvictor;
+
+    private final StudentSuggestionIndex suggestionIndex;
+
+    private final DataSource dataSource;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final String channel;
+
+    private volatile boolean importPending;
+
+    private volatile boolean running;
+
+    private Thread listenerThread;
+
+    public StudentCacheInvalidationBus(StudentCache studentCache, HibernateCacheEvictor hibernateCacheEvictor,
+                                       StudentSuggestionIndex suggestionIndex, DataSource dataSource,
+                                       JdbcTemplate jdbcTemplate,
+                                       @Value("${student.cache.invalidation.channel:student_cache_invalidation}") String channel) {
+        this.studentCache = studentCache;
+        this.hibernateCacheEvictor = hibernateCacheEvictor;
+        this.suggestionIndex = suggestionIndex;
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        this.channel = channel;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentChanged(StudentChangedEvent event) {
+        pendingIds.add(event.getId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentsImported(StudentsImportedEvent event) {
+        importPending = true;
+    }
+
+    /**
+     * Sends what has been queued since the last run. Ids of a notification that fails are queued again (and a
+     * failed import announcement is kept), so the next run retries them instead of leaving other nodes stale.
+     */
+    @Scheduled(fixedDelayString = "${student.cache.invalidation.flush-interval-ms:50}")
+    public void publishPending() {
+        if (importPending) {
+            importPending = false;
+            if (!publish(nodeId + ':' + ALL_STUDENTS, List.of())) {
+                importPending = true;
+                return;
+            }
+        }
+        StringBuilder payload = new StringBuilder(nodeId).append(':');
+        int emptyLength = payload.length();
+        List<Long> payloadIds = new ArrayList<>();
+        Long id;
+        while ((id = pendingIds.poll()) != null) {
+            if (payload.length() > MAX_PAYLOAD_LENGTH) {
+                if (!publish(payload.toString(), payloadIds)) {
+                    pendingIds.add(id);
+                    return;
+                }
+                payload.setLength(emptyLength);
+                payloadIds.clear();
+            }
+            if (payload.length() > emptyLength) {
+                payload.append(',');
+            }
+            payload.append(id);
+            payloadIds.add(id);
+        }
+        if (payload.length() > emptyLength) {
+            publish(payload.toString(), payloadIds);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startListening() {
+        running = true;
+        listenerThread = new Thread(this::listen, "student-cache-invalidation");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @PreDestroy
+    public void stopListening() {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+
+    void handle(String payload) {
+        try {
+            handlePayload(payload);
+        } catch (RuntimeException exception) {
+            log.warn("Failed to apply cache invalidation '{}', dropping all local caches", payload, exception);
+            invalidateAll();
+        }
+    }
+
+    void handlePayload(String payload) {
+        int separator = payload.indexOf(':');
+        if (separator < 0 || payload.substring(0, separator).equals(nodeId)) {
+            return;
+        }
+        String body = payload.substring(separator + 1);
+        if (body.equals(ALL_STUDENTS)) {
+            invalidateAll();
+            return;
+        }
+        List<Long> ids = new ArrayList<>();
+        for (String id : body.split(",")) {
+            if (!id.isEmpty()) {
+                ids.add(Long.parseLong(id));
+            }
+        }
+        for (long id : ids) {
+            studentCache.evict(id);
+            hibernateCacheEvictor.evictStudent(id);
+        }
+        hibernateCacheEvictor.evictQueryResults();
+        // After the second-level cache eviction, so the index re-reads the rows from the database
+        suggestionIndex.refresh(ids);
+    }
+
+    /**
+     * @return whether the notification was sent; when it was not, {@code ids} are queued again
+     */
+    private boolean publish(String payload, List<Long> ids) {
+        try {
+            jdbcTemplate.queryForObject("SELECT pg_notify(?, ?)", Object.class, channel, payload);
+            return true;
+        } catch (RuntimeException exception) {
+            log.warn("Failed to publish cache invalidations, retrying on the next run", exception);
+            pendingIds.addAll(ids);
+            return false;
+        }
+    }
+
+    private void listen() {
+        boolean reconnecting = false;
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.setAutoCommit(true);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                // Anything sent while we were not listening is lost
+                studentCache.evictAll();
+                hibernateCacheEvictor.evictAll();
+                if (reconnecting) {
+                    // The first build happens at startup
+                    suggestionIndex.rebuild();
+                }
+                reconnecting = true;
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications((int) LISTEN_TIMEOUT_MILLIS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            handle(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException | RuntimeException exception) {
+                // Reconnecting drops every local cache, so nothing the failure skipped stays stale
+                if (running) {
+                    log.warn("Lost cache invalidation listener connection, reconnecting", exception);
+                    sleepBeforeReconnect();
+                }
+            }
+        }
+    }
+
+    private void invalidateAll() {
+        studentCache.evictAll();
+        hibernateCacheEvictor.evictAll();
+        suggestionIndex.rebuild();
+    }
+
+    private void sleepBeforeReconnect() {
+        try {
+            Thread.sleep(RECONNECT_DELAY_MILLIS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
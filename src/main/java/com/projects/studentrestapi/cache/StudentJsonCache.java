@@ -0,0 +1,67 @@
+package com.projects.studentrestapi.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.projects.studentrestapi.event.StudentChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+
+import java.util.function.Supplier;
+
+/**
+ * Pre-encoded UTF-8 JSON of the full student representation, so hot students are not serialized on every read.
+ * <p>
+ * Entries are keyed by id and only served for the version they were encoded from, so a stale entry can never be
+ * returned for a newer student, whichever replica wrote it. Evicting on committed changes only frees the memory
+ * early. The cache is bounded by the total size of the encoded documents; statistics are published under the
+ * {@code cache.*} metrics with {@code cache=students_json}.
+ */
+@Component
+public class StudentJsonCache implements MeterBinder {
+
+    private final Cache<Long, EncodedStudent> cache;
+
+    public StudentJsonCache(@Value("${student.json-cache.maximum-bytes:64MB}") DataSize maximumSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumSize.toBytes())
+                .<Long, EncodedStudent>weigher((id, encoded) -> encoded.json().length)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * @return the cached JSON of the student at {@code version}, or the result of {@code encoder} (which is cached)
+     * when there is none for that version. The returned array is shared and must not be modified.
+     */
+    public byte[] get(long id, long version, Supplier<byte[]> encoder) {
+        EncodedStudent encoded = cache.getIfPresent(id);
+        if (encoded != null && encoded.version() == version) {
+            return encoded.json();
+        }
+        byte[] json = encoder.get();
+        cache.put(id, new EncodedStudent(version, json));
+        return json;
+    }
+
+    public void evict(long id) {
+        cache.invalidate(id);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentChanged(StudentChangedEvent event) {
+        evict(event.getId());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "students_json");
+    }
+
+    private record EncodedStudent(long version, byte[] json) {
+    }
+}
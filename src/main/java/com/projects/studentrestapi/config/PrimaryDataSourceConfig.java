@@ -0,0 +1,36 @@
+package com.projects.studentrestapi.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Single-database counterpart of {@link ReplicaDataSourceConfig}: the pool is configured from
+ * {@code spring.datasource} as usual, but the application's {@code DataSource} hands out connections lazily.
+ * A transaction therefore only borrows a pooled connection once it runs a statement, so read-only transactions
+ * that are answered from the student caches, or that wait on another caller's load, hold none.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "student.replica.enabled", havingValue = "false", matchIfMissing = true)
+public class PrimaryDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary) {
+        return new LazyConnectionDataSourceProxy(primary);
+    }
+}
@@ -0,0 +1,52 @@
+package com.projects.studentrestapi.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+/**
+ * R2DBC connection pool for the reactive profile.
+ * <p>
+ * The pool is deliberately not a bean: Boot's JDBC {@code DataSource} backs off as soon as an R2DBC
+ * {@code ConnectionFactory} bean exists, and JPA (caches, sync, imports and the rest of the application) still
+ * runs on JDBC. For the same reason Boot's R2DBC auto-configuration is excluded in application.yml, and no R2DBC
+ * transaction manager is declared: the reactive repository writes with single statements.
+ */
+@Configuration(proxyBeanMethods = false)
+@Profile("reactive")
+public class ReactiveDatabaseConfig implements DisposableBean {
+
+    private final ConnectionPool connectionPool;
+
+    public ReactiveDatabaseConfig(@Value("${spring.r2dbc.url}") String url,
+                                  @Value("${spring.r2dbc.username}") String username,
+                                  @Value("${spring.r2dbc.password}") String password,
+                                  @Value("${spring.r2dbc.pool.initial-size:10}") int initialSize,
+                                  @Value("${spring.r2dbc.pool.max-size:20}") int maxSize) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        this.connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .initialSize(initialSize)
+                .maxSize(maxSize)
+                .build());
+    }
+
+    @Bean
+    public DatabaseClient reactiveDatabaseClient() {
+        return DatabaseClient.create(connectionPool);
+    }
+
+    @Override
+    public void destroy() {
+        connectionPool.dispose();
+    }
+}
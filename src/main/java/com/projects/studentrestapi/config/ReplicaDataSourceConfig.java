@@ -0,0 +1,80 @@
+package com.projects.studentrestapi.config;
+
+import com.projects.studentrestapi.cache.HibernateCacheEvictor;
+import com.projects.studentrestapi.datasource.ReadYourWrites;
+import com.projects.studentrestapi.datasource.ReadYourWritesFilter;
+import com.projects.studentrestapi.datasource.ReplicaLagMonitor;
+import com.projects.studentrestapi.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Read/write splitting (enabled with {@code student.replica.enabled}): the primary pool is configured from
+ * {@code spring.datasource} as usual and the replica pool from {@code student.replica}. The application's
+ * {@code DataSource} routes between them (see {@link ReplicaRoutingDataSource}); Boot's own pool backs off.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "student.replica.enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource(@Value("${student.replica.url}") String url,
+                                              @Value("${student.replica.username}") String username,
+                                              @Value("${student.replica.password}") String password,
+                                              @Value("${student.replica.maximum-pool-size:10}") int maximumPoolSize) {
+        HikariDataSource replica = new HikariDataSource();
+        replica.setPoolName("replica");
+        replica.setJdbcUrl(url);
+        replica.setUsername(username);
+        replica.setPassword(password);
+        replica.setMaximumPoolSize(maximumPoolSize);
+        replica.setReadOnly(true);
+        return replica;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("primaryDataSource") DataSource primary,
+                                               @Qualifier("replicaDataSource") DataSource replica,
+                                               ObjectProvider<HibernateCacheEvictor> cacheEvictor) {
+        // Looked up on use: the evictor needs the EntityManagerFactory, which needs the routing DataSource
+        return new ReplicaLagMonitor(primary, replica, () -> cacheEvictor.getObject().getEvictionCount());
+    }
+
+    @Bean
+    public ReadYourWrites readYourWrites() {
+        return new ReadYourWrites();
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public ReadYourWritesFilter readYourWritesFilter(ReadYourWrites readYourWrites, ReplicaLagMonitor replicaLagMonitor) {
+        return new ReadYourWritesFilter(readYourWrites, replicaLagMonitor);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 ReplicaLagMonitor replicaLagMonitor, ReadYourWrites readYourWrites) {
+        return new LazyConnectionDataSourceProxy(
+                new ReplicaRoutingDataSource(primary, replica, replicaLagMonitor, readYourWrites));
+    }
+}
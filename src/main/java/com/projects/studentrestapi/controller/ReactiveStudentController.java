@@ -0,0 +1,86 @@
+package com.projects.studentrestapi.controller;
+
+import com.projects.studentrestapi.dto.StudentDto;
+import com.projects.studentrestapi.dto.StudentField;
+import com.projects.studentrestapi.dto.StudentPageResponse;
+import com.projects.studentrestapi.entity.Student;
+import com.projects.studentrestapi.exception.ResourceNotFoundException;
+import com.projects.studentrestapi.mapper.StudentMapper;
+import com.projects.studentrestapi.service.ReactiveStudentService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux variant of the core of {@link StudentController}, served instead of it under the reactive profile,
+ * with the same paths and representations. Search, sync, streaming, imports and batch endpoints are only
+ * served by the servlet stack.
+ */
+@RestController
+@Profile("reactive")
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/students")
+public class ReactiveStudentController {
+
+    private final ReactiveStudentService studentService;
+
+    private final StudentMapper studentMapper;
+
+    @PostMapping
+    public Mono<ResponseEntity<StudentDto>> createStudent(@RequestBody Student student) {
+        return studentService.saveStudent(student)
+                .map(savedStudent -> new ResponseEntity<>(studentMapper.toDto(savedStudent), HttpStatus.CREATED));
+    }
+
+    @GetMapping
+    public Mono<StudentPageResponse> getAllStudents(@RequestParam(required = false) String after,
+                                                    @RequestParam(defaultValue = "50") int limit,
+                                                    @RequestParam(required = false) String fields) {
+        return Mono.fromSupplier(() -> StudentField.parse(fields))
+                .flatMap(selectedFields -> studentService.getStudents(after, limit, selectedFields));
+    }
+
+    /**
+     * One JSON document per line, written as rows arrive; the client's read rate paces the query.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<StudentDto> exportStudents() {
+        return studentService.exportStudents().map(studentMapper::toDto);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<StudentDto>> getStudentById(@PathVariable long id,
+                                                           @RequestParam(required = false) String fields) {
+        return Mono.fromSupplier(() -> StudentField.parse(fields))
+                .flatMap(selectedFields -> studentService.getStudentById(id)
+                        .map(student -> ResponseEntity.ok(studentMapper.toDto(student, selectedFields))))
+                // Answered by ReactiveExceptionHandler with an error body, like the servlet stack
+                .switchIfEmpty(Mono.error(ResourceNotFoundException::new));
+    }
+
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<StudentDto>> updateStudent(@PathVariable long id, @RequestBody Student student) {
+        return studentService.updateStudent(id, student)
+                .map(updatedStudent -> ResponseEntity.ok(studentMapper.toDto(updatedStudent)))
+                .switchIfEmpty(Mono.error(ResourceNotFoundException::new));
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<String>> deleteStudent(@PathVariable long id) {
+        return studentService.deleteStudentById(id)
+                .thenReturn(ResponseEntity.ok("Student deleted successfully."));
+    }
+}
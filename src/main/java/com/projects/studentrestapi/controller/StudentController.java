@@ -1,53 +1,332 @@
 package com.projects.studentrestapi.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.projects.studentrestapi.cache.StudentJsonCache;
+import com.projects.studentrestapi.dto.StudentChangesResponse;
+import com.projects.studentrestapi.dto.StudentDeleteResponse;
+import com.projects.studentrestapi.dto.StudentDto;
+import com.projects.studentrestapi.dto.StudentField;
+import com.projects.studentrestapi.dto.StudentImportStatus;
+import com.projects.studentrestapi.dto.StudentLookupResponse;
+import com.projects.studentrestapi.dto.StudentPageResponse;
+import com.projects.studentrestapi.dto.StudentPatchRequest;
+import com.projects.studentrestapi.dto.StudentSearchResponse;
+import com.projects.studentrestapi.dto.StudentSuggestion;
 import com.projects.studentrestapi.entity.Student;
+import com.projects.studentrestapi.mapper.StudentMapper;
+import com.projects.studentrestapi.service.StudentImportService;
 import com.projects.studentrestapi.service.StudentService;
+import com.projects.studentrestapi.service.StudentSyncService;
+import com.projects.studentrestapi.stream.StudentChangeFeed;
+import io.micrometer.core.instrument.Metrics;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.MimeTypeUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.time.Instant;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @RestController
+@Profile("!reactive")
 @RequiredArgsConstructor
 @RequestMapping("/api/v1/students")
 public class StudentController {
 
     private final StudentService studentService;
 
+    private final StudentSyncService studentSyncService;
+
+    private final StudentImportService studentImportService;
+
+    private final StudentMapper studentMapper;
+
+    private final StudentJsonCache studentJsonCache;
+
+    private final StudentChangeFeed studentChangeFeed;
+
+    private final ObjectMapper objectMapper;
+
     @PostMapping
-    public ResponseEntity<Student> createStudent(@RequestBody Student student) {
-        return new ResponseEntity<>(studentService.saveStudent(student), HttpStatus.CREATED);
+    public ResponseEntity<StudentDto> createStudent(@RequestBody Student student) {
+        return new ResponseEntity<>(studentMapper.toDto(studentService.saveStudent(student)), HttpStatus.CREATED);
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<List<StudentDto>> createStudents(@RequestBody List<Student> students) {
+        return new ResponseEntity<>(studentMapper.toDtos(studentService.saveStudents(students)), HttpStatus.CREATED);
+    }
+
+    @PostMapping(value = "/imports", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<StudentImportStatus> importStudents(@RequestParam MultipartFile file) {
+        StudentImportStatus status = studentImportService.startImport(file);
+        URI location = ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{id}")
+                .buildAndExpand(status.getId())
+                .toUri();
+        return ResponseEntity.accepted().location(location).body(status);
+    }
+
+    @GetMapping("/imports/{id}")
+    public ResponseEntity<StudentImportStatus> getImport(@PathVariable String id) {
+        return ResponseEntity.ok(studentImportService.getImport(id));
     }
 
     @GetMapping
-    public ResponseEntity<List<Student>> getAllStudents() {
-        return ResponseEntity.ok(studentService.getAllStudents());
+    public ResponseEntity<StudentPageResponse> getAllStudents(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) String fields,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            ServletWebRequest webRequest) {
+        Set<StudentField> selectedFields = StudentField.parse(fields);
+        MediaType representation = representation(accept);
+        // No Last-Modified here: a deleted row changes the page without making anything newer
+        if (isConditional(webRequest)) {
+            // Only ids and versions are read to answer a conditional request; the page is loaded when it changed
+            String etag = etag(studentService.getStudentsVersionTag(after, limit), selectedFields, representation);
+            if (checkNotModified(webRequest, "list", etag, -1)) {
+                return null;
+            }
+            return ResponseEntity.ok(studentService.getStudents(after, limit, selectedFields));
+        }
+        // Otherwise the ETag comes from the rows of the page itself, read in the same transaction
+        StudentPageResponse page = studentService.getStudents(after, limit, selectedFields);
+        checkNotModified(webRequest, "list", etag(page.getVersionTag(), selectedFields, representation), -1);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping("/changes")
+    public ResponseEntity<StudentChangesResponse> getStudentChanges(@RequestParam(required = false) String since,
+                                                                    @RequestParam(defaultValue = "500") int limit) {
+        return ResponseEntity.ok(studentSyncService.getChanges(since, limit));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamStudentChanges(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return studentChangeFeed.subscribe(lastEventId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportStudents() {
+        // One JSON document per line; the servlet buffer flushes to the client as it fills
+        ObjectWriter studentWriter = objectMapper.writerFor(StudentDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("");
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+                studentService.exportStudents(student -> {
+                    try {
+                        studentWriter.writeValue(generator, studentMapper.toDto(student));
+                        generator.writeRaw('\n');
+                    } catch (IOException exception) {
+                        throw new UncheckedIOException(exception);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @GetMapping(value = "/search", params = "q")
+    public ResponseEntity<StudentSearchResponse> searchStudents(@RequestParam String q,
+                                                                @RequestParam(defaultValue = "0") int page,
+                                                                @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(studentService.searchStudents(q, page, size));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<StudentSearchResponse> searchStudentsByName(@RequestParam(required = false) String firstName,
+                                                                @RequestParam(required = false) String lastName,
+                                                                @RequestParam(defaultValue = "0") int page,
+                                                                @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(studentService.searchStudents(firstName, lastName, page, size));
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<List<StudentSuggestion>> suggestStudents(@RequestParam String q,
+                                                                   @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(studentService.suggestStudents(q, limit));
+    }
+
+    @GetMapping(params = "ids")
+    public ResponseEntity<StudentLookupResponse> getStudentsByIds(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(studentService.getStudentsByIds(ids));
+    }
+
+    // Body variant for id lists too long for a query string
+    @PostMapping("/lookup")
+    public ResponseEntity<StudentLookupResponse> lookupStudents(@RequestBody List<Long> ids) {
+        return ResponseEntity.ok(studentService.getStudentsByIds(ids));
+    }
+
+    @GetMapping(params = "email")
+    public ResponseEntity<StudentDto> getStudentByEmail(@RequestParam String email) {
+        return ResponseEntity.ok(studentMapper.toDto(studentService.getStudentByEmail(email)));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Optional<Student>> getStudentById(@PathVariable long id) {
-        return ResponseEntity.ok(studentService.getStudentById(id));
+    public ResponseEntity<?> getStudentById(@PathVariable long id,
+                                            @RequestParam(required = false) String fields,
+                                            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                                            ServletWebRequest webRequest) {
+        Set<StudentField> selectedFields = StudentField.parse(fields);
+        MediaType representation = representation(accept);
+        Optional<Student> student = studentService.getStudentById(id);
+        if (student.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        // The student comes from the cache, so a 304 costs neither a query nor serialization
+        String etag = etag(student.get().getId() + "-" + student.get().getVersion(), selectedFields, representation);
+        Instant updatedAt = student.get().getUpdatedAt();
+        if (checkNotModified(webRequest, "single", etag, updatedAt == null ? -1 : updatedAt.toEpochMilli())) {
+            return null;
+        }
+        if (!representation.equals(MediaType.APPLICATION_JSON)) {
+            // Other formats (CBOR) go through content negotiation
+            return ResponseEntity.ok(studentMapper.toDto(student.get(), selectedFields));
+        }
+        // The full representation is encoded once per version and its bytes written as they are
+        byte[] body = selectedFields.size() == StudentField.values().length
+                ? studentJsonCache.get(id, student.get().getVersion(), () -> toJson(studentMapper.toDto(student.get())))
+                : toJson(studentMapper.toDto(student.get(), selectedFields));
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Student> updateStudent(@PathVariable long id, @RequestBody Student student) {
+    public ResponseEntity<StudentDto> updateStudent(@PathVariable long id, @RequestBody Student student) {
         return studentService.getStudentById(id)
                 .map(existingStudent -> {
                     existingStudent.setFirstName(student.getFirstName());
                     existingStudent.setLastName(student.getLastName());
                     existingStudent.setEmail(student.getEmail());
                     Student updatedStudent = studentService.updateStudent(existingStudent);
-                    return ResponseEntity.ok(updatedStudent);
+                    return ResponseEntity.ok(studentMapper.toDto(updatedStudent));
                 })
                 .orElseGet(ResponseEntity.notFound()::build);
     }
 
+    @PatchMapping("/{id}")
+    public ResponseEntity<Void> patchStudent(@PathVariable long id, @RequestBody StudentPatchRequest patch) {
+        long version = studentService.patchStudent(id, patch);
+        // The ETag GET /{id} now returns (as JSON), so the client can revalidate without reading the student back
+        return ResponseEntity.noContent()
+                .eTag(etag(id + "-" + version, EnumSet.allOf(StudentField.class), MediaType.APPLICATION_JSON))
+                .build();
+    }
+
+    @DeleteMapping(params = "ids")
+    public ResponseEntity<StudentDeleteResponse> deleteStudents(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(new StudentDeleteResponse(studentService.deleteStudentsByIds(ids)));
+    }
+
+    // Body variant for id sets too large for a query string
+    @PostMapping("/batch/delete")
+    public ResponseEntity<StudentDeleteResponse> deleteStudentsInBatch(@RequestBody List<Long> ids) {
+        return ResponseEntity.ok(new StudentDeleteResponse(studentService.deleteStudentsByIds(ids)));
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<String> deleteStudent(@PathVariable long id) {
         studentService.deleteStudentById(id);
         return ResponseEntity.ok("Student deleted successfully.");
     }
+
+    /**
+     * @return the media type a response to {@code accept} is written in: JSON, or CBOR when that is preferred
+     */
+    private static MediaType representation(String accept) {
+        return prefersJson(accept) ? MediaType.APPLICATION_JSON : MediaType.APPLICATION_CBOR;
+    }
+
+    /**
+     * @return whether JSON is the client's most preferred format it can get, which it is unless another
+     * format ranks above it in the Accept header
+     */
+    private static boolean prefersJson(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return true;
+        }
+        List<MediaType> acceptedTypes = MediaType.parseMediaTypes(accept);
+        MimeTypeUtils.sortBySpecificity(acceptedTypes);
+        for (MediaType acceptedType : acceptedTypes) {
+            if (acceptedType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                return true;
+            }
+            if (acceptedType.isCompatibleWith(MediaType.APPLICATION_CBOR)) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private byte[] toJson(StudentDto student) {
+        try {
+            return objectMapper.writeValueAsBytes(student);
+        } catch (JsonProcessingException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    /**
+     * Strong ETag for a representation: the version tag of the data plus the selected fields and the media type,
+     * since strong ETags must differ between representations.
+     */
+    private static String etag(String versionTag, Set<StudentField> fields, MediaType representation) {
+        int fieldMask = 0;
+        for (StudentField field : fields) {
+            fieldMask |= 1 << field.ordinal();
+        }
+        return "\"" + versionTag + "-" + Integer.toHexString(fieldMask) + "-" + representation.getSubtype() + "\"";
+    }
+
+    // Last-Modified is never sent for lists, so only the ETag preconditions matter
+    private static boolean isConditional(ServletWebRequest webRequest) {
+        return webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || webRequest.getHeader(HttpHeaders.IF_MATCH) != null;
+    }
+
+    /**
+     * Sets the ETag (and Last-Modified) headers and checks the request's preconditions, counting the outcome under
+     * {@code students.conditional.requests} so the share of 304 responses can be followed per endpoint. The
+     * representation depends on Accept, so caches are told to key on it (on 304 responses too).
+     */
+    private static boolean checkNotModified(ServletWebRequest webRequest, String endpoint, String etag,
+                                            long lastModified) {
+        if (webRequest.getResponse() != null) {
+            webRequest.getResponse().addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+        boolean notModified = webRequest.checkNotModified(etag, lastModified);
+        Metrics.counter("students.conditional.requests",
+                "endpoint", endpoint,
+                "result", notModified ? "not_modified" : "modified").increment();
+        return notModified;
+    }
 }
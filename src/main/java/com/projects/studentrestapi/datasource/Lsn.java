@@ -0,0 +1,27 @@
+package com.projects.studentrestapi.datasource;
+
+/**
+ * Postgres write-ahead log positions ({@code pg_lsn}), written as two hexadecimal halves: {@code 16/B374D848}.
+ */
+public final class Lsn {
+
+    private Lsn() {
+    }
+
+    /**
+     * @throws IllegalArgumentException when {@code lsn} is not a valid position
+     */
+    public static long parse(String lsn) {
+        int separator = lsn.indexOf('/');
+        if (separator < 1 || separator > 8 || lsn.length() - separator - 1 < 1 || lsn.length() - separator - 1 > 8) {
+            throw new IllegalArgumentException("Invalid LSN: " + lsn);
+        }
+        long high = Long.parseLong(lsn, 0, separator, 16);
+        long low = Long.parseLong(lsn, separator + 1, lsn.length(), 16);
+        return high << 32 | low;
+    }
+
+    public static String format(long lsn) {
+        return Long.toHexString(lsn >>> 32).toUpperCase() + '/' + Long.toHexString(lsn & 0xFFFFFFFFL).toUpperCase();
+    }
+}
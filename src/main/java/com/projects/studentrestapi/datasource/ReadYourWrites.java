@@ -0,0 +1,70 @@
+package com.projects.studentrestapi.datasource;
+
+import com.projects.studentrestapi.event.StudentChangedEvent;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Per-request read-your-writes state, for clients whose reads may be served by a lagging replica.
+ * <p>
+ * A request that writes is answered with the primary's log position in the {@value #HEADER} header. A client
+ * that sends that token back is only read from the replica once the replica has replayed past it; until then
+ * its reads go to the primary. Within a request, reads that follow a write always go to the primary.
+ */
+public class ReadYourWrites {
+
+    public static final String HEADER = "X-Session-LSN";
+
+    private final ThreadLocal<RequestState> requestState = new ThreadLocal<>();
+
+    /**
+     * @param token the {@value #HEADER} sent by the client, if any
+     */
+    public void begin(String token) {
+        long requiredLsn = 0;
+        if (token != null && !token.isBlank()) {
+            try {
+                requiredLsn = Lsn.parse(token.strip());
+            } catch (IllegalArgumentException exception) {
+                // Not worth failing the request: the primary satisfies any token
+                requiredLsn = Long.MAX_VALUE;
+            }
+        }
+        requestState.set(new RequestState(requiredLsn));
+    }
+
+    public void end() {
+        requestState.remove();
+    }
+
+    public boolean hasWritten() {
+        RequestState state = requestState.get();
+        return state != null && state.written;
+    }
+
+    /**
+     * @return whether a replica that has replayed up to {@code replayedLsn} may serve this request's reads
+     */
+    public boolean isSatisfiedBy(long replayedLsn) {
+        RequestState state = requestState.get();
+        return state == null || (!state.written && state.requiredLsn <= replayedLsn);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentChanged(StudentChangedEvent event) {
+        RequestState state = requestState.get();
+        if (state != null) {
+            state.written = true;
+        }
+    }
+
+    private static final class RequestState {
+
+        private final long requiredLsn;
+
+        private boolean written;
+
+        private RequestState(long requiredLsn) {
+            this.requiredLsn = requiredLsn;
+        }
+    }
+}
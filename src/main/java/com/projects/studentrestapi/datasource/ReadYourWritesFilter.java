@@ -0,0 +1,75 @@
+package com.projects.studentrestapi.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Reads the client's {@value ReadYourWrites#HEADER} token, and answers requests that wrote with a new one.
+ * <p>
+ * The token is the primary's position after the request's writes committed (one extra query per writing
+ * request). It is set just before the body starts, while headers can still be sent.
+ */
+@RequiredArgsConstructor
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private final ReadYourWrites readYourWrites;
+
+    private final ReplicaLagMonitor replicaLagMonitor;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        readYourWrites.begin(request.getHeader(ReadYourWrites.HEADER));
+        TokenResponse tokenResponse = new TokenResponse(response);
+        try {
+            filterChain.doFilter(request, tokenResponse);
+            // Responses without a body
+            tokenResponse.setToken();
+        } finally {
+            readYourWrites.end();
+        }
+    }
+
+    private final class TokenResponse extends HttpServletResponseWrapper {
+
+        private boolean tokenSet;
+
+        private TokenResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        private void setToken() {
+            if (!tokenSet && readYourWrites.hasWritten() && !isCommitted()) {
+                setHeader(ReadYourWrites.HEADER, Lsn.format(replicaLagMonitor.currentPrimaryLsn()));
+                tokenSet = true;
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            setToken();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            setToken();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            setToken();
+            super.flushBuffer();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.projects.studentrestapi.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Tracks how far the read replica has replayed the primary's write-ahead log.
+ * <p>
+ * Each poll reads the number of changes this node has evicted from its caches so far (counted by
+ * {@code HibernateCacheEvictor#getEvictionCount()}), then the primary's current position, and records the pair:
+ * those changes were committed at or before that position. It then reads the replica's replayed position. Once the
+ * replica has replayed past a recorded position it holds the changes recorded with it, so under a steady stream of
+ * writes the caches are confirmed as soon as the replica is one poll behind, rather than only when it has caught up
+ * with a primary that has stopped writing. A replica that does not answer is reported unavailable until it does.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    // Recorded positions the replica has not reached yet; beyond this many, newer ones replace the newest
+    private static final int MAX_CHECKPOINTS = 1024;
+
+    private static final String PRIMARY_LSN = "SELECT pg_current_wal_lsn()::text";
+
+    // A stand-in replica that is not a standby replays nothing: its own position is used
+    private static final String REPLAYED_LSN = "SELECT coalesce(pg_last_wal_replay_lsn(), pg_current_wal_lsn())::text";
+
+    private final JdbcTemplate primary;
+
+    private final JdbcTemplate replica;
+
+    private final LongSupplier evictionCount;
+
+    private volatile boolean available;
+
+    private volatile long replayedLsn = -1;
+
+    private volatile long caughtUpThrough = -1;
+
+    // Eviction counts with the primary position they were committed by, oldest first
+    private final Deque<Checkpoint> checkpoints = new ArrayDeque<>();
+
+    private final ReentrantLock pollLock = new ReentrantLock();
+
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, LongSupplier evictionCount) {
+        this(new JdbcTemplate(primary), new JdbcTemplate(replica), evictionCount);
+    }
+
+    ReplicaLagMonitor(JdbcTemplate primary, JdbcTemplate replica, LongSupplier evictionCount) {
+        this.primary = primary;
+        this.replica = replica;
+        this.evictionCount = evictionCount;
+    }
+
+    @Scheduled(fixedDelayString = "${student.replica.lag-check-interval-ms:100}")
+    public void poll() {
+        // Not synchronized: a virtual thread blocked on the queries would stay pinned to its carrier
+        pollLock.lock();
+        try {
+            pollOnce();
+        } finally {
+            pollLock.unlock();
+        }
+    }
+
+    private void pollOnce() {
+        long evictions = evictionCount.getAsLong();
+        long primaryLsn;
+        long replicaLsn;
+        try {
+            primaryLsn = currentPrimaryLsn();
+            replicaLsn = Lsn.parse(replica.queryForObject(REPLAYED_LSN, String.class));
+        } catch (RuntimeException exception) {
+            if (available) {
+                log.warn("Read replica unavailable, reading from the primary", exception);
+            }
+            available = false;
+            return;
+        }
+        if (!available) {
+            log.info("Read replica available");
+        }
+        replayedLsn = replicaLsn;
+        record(evictions, primaryLsn);
+        while (!checkpoints.isEmpty() && checkpoints.peekFirst().primaryLsn() <= replicaLsn) {
+            caughtUpThrough = Math.max(caughtUpThrough, checkpoints.pollFirst().evictions());
+        }
+        available = true;
+    }
+
+    private void record(long evictions, long primaryLsn) {
+        Checkpoint newest = checkpoints.peekLast();
+        // Nothing evicted since the newest checkpoint, whose lower position already covers these evictions
+        if (evictions <= caughtUpThrough || (newest != null && newest.evictions() == evictions)) {
+            return;
+        }
+        if (checkpoints.size() == MAX_CHECKPOINTS) {
+            checkpoints.pollLast();
+        }
+        checkpoints.addLast(new Checkpoint(evictions, primaryLsn));
+    }
+
+    public long currentPrimaryLsn() {
+        return Lsn.parse(primary.queryForObject(PRIMARY_LSN, String.class));
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    public long getReplayedLsn() {
+        return replayedLsn;
+    }
+
+    /**
+     * @return whether the replica is known to hold every change this node has evicted from its caches
+     */
+    public boolean isCaughtUpWithCaches() {
+        return caughtUpThrough >= evictionCount.getAsLong();
+    }
+
+    private record Checkpoint(long evictions, long primaryLsn) {
+    }
+}
@@ -0,0 +1,52 @@
+package com.projects.studentrestapi.datasource;
+
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Sends read-only transactions to the replica and everything else to the primary. Must sit behind a
+ * {@code LazyConnectionDataSourceProxy}, so the connection is chosen once the transaction has started.
+ * <p>
+ * Read-only transactions still go to the primary when the replica is unavailable, when it may not yet have a
+ * change this node has already evicted from its caches (what is read from it would be cached again), or when
+ * the request's {@link ReadYourWrites} token is ahead of it. Decisions are counted in
+ * {@code students.datasource.routes}, tagged with the target.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target {
+        PRIMARY,
+        REPLICA
+    }
+
+    private final ReplicaLagMonitor replicaLagMonitor;
+
+    private final ReadYourWrites readYourWrites;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor replicaLagMonitor,
+                                    ReadYourWrites readYourWrites) {
+        this.replicaLagMonitor = replicaLagMonitor;
+        this.readYourWrites = readYourWrites;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Target target = useReplica() ? Target.REPLICA : Target.PRIMARY;
+        Metrics.counter("students.datasource.routes", "target", target.name().toLowerCase()).increment();
+        return target;
+    }
+
+    private boolean useReplica() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && replicaLagMonitor.isAvailable()
+                && replicaLagMonitor.isCaughtUpWithCaches()
+                && readYourWrites.isSatisfiedBy(replicaLagMonitor.getReplayedLsn());
+    }
+}
@@ -0,0 +1,27 @@
+package com.projects.studentrestapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * A created/updated or deleted student, as read by the delta sync query.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class StudentChange {
+
+    private long id;
+    private Instant changedAt;
+    // Null when the student was deleted
+    private StudentDto student;
+
+    public boolean isDeleted() {
+        return student == null;
+    }
+}
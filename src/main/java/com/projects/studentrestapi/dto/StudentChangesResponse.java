@@ -0,0 +1,20 @@
+package com.projects.studentrestapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class StudentChangesResponse {
+
+    private List<StudentDto> students;
+    private List<Long> deletedIds;
+    private String watermark;
+    private boolean hasMore;
+}
@@ -0,0 +1,15 @@
+package com.projects.studentrestapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class StudentDeleteResponse {
+
+    private int deleted;
+}
@@ -0,0 +1,53 @@
+package com.projects.studentrestapi.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * Student as returned by the API. Fields left out of a sparse fieldset ({@code fields=}) are null and not
+ * serialized.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class StudentDto {
+
+    private Long id;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private Long version;
+    private Instant updatedAt;
+
+    /**
+     * Clears the fields that are not in {@code fields}.
+     */
+    public void retainOnly(Set<StudentField> fields) {
+        if (!fields.contains(StudentField.ID)) {
+            id = null;
+        }
+        if (!fields.contains(StudentField.FIRST_NAME)) {
+            firstName = null;
+        }
+        if (!fields.contains(StudentField.LAST_NAME)) {
+            lastName = null;
+        }
+        if (!fields.contains(StudentField.EMAIL)) {
+            email = null;
+        }
+        if (!fields.contains(StudentField.VERSION)) {
+            version = null;
+        }
+        if (!fields.contains(StudentField.UPDATED_AT)) {
+            updatedAt = null;
+        }
+    }
+}
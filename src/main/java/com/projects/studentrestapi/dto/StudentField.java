@@ -0,0 +1,47 @@
+package com.projects.studentrestapi.dto;
+
+import com.projects.studentrestapi.exception.InvalidRequestException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Fields a client can select with {@code fields=}, named after the {@link StudentDto} properties and the
+ * {@link com.projects.studentrestapi.entity.Student} attributes they are read from.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum StudentField {
+
+    ID("id"),
+    FIRST_NAME("firstName"),
+    LAST_NAME("lastName"),
+    EMAIL("email"),
+    VERSION("version"),
+    UPDATED_AT("updatedAt");
+
+    private final String attribute;
+
+    /**
+     * @param fields comma-separated field names, or null/blank for every field
+     */
+    public static Set<StudentField> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return EnumSet.allOf(StudentField.class);
+        }
+        Set<StudentField> selected = EnumSet.noneOf(StudentField.class);
+        for (String name : fields.split(",")) {
+            selected.add(Arrays.stream(values())
+                    .filter(field -> field.attribute.equals(name.strip()))
+                    .findFirst()
+                    .orElseThrow(() -> new InvalidRequestException("Unknown field: " + name.strip() + " (expected one of "
+                            + Arrays.stream(values()).map(StudentField::getAttribute).collect(Collectors.joining(", "))
+                            + ")")));
+        }
+        return selected;
+    }
+}
@@ -0,0 +1,16 @@
+package com.projects.studentrestapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class StudentImportError {
+
+    private long line;
+    private String message;
+}
@@ -0,0 +1,21 @@
+package com.projects.studentrestapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A validated row of an import file, with the line it starts on.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class StudentImportRow {
+
+    private long line;
+    private String firstName;
+    private String lastName;
+    private String email;
+}
@@ -0,0 +1,37 @@
+package com.projects.studentrestapi.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class StudentImportStatus {
+
+    public enum State {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    private String id;
+    private State state;
+    private long rowsRead;
+    private long rowsImported;
+    private long rowsRejected;
+    // The first rejected rows only; rowsRejected has the full count
+    private List<StudentImportError> errors;
+    private String failure;
+    private Instant createdAt;
+    private Instant startedAt;
+    private Instant finishedAt;
+}
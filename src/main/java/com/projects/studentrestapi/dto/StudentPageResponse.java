@@ -0,0 +1,30 @@
+package com.projects.studentrestapi.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class StudentPageResponse {
+
+    private List<StudentDto> students;
+    private String nextCursor;
+
+    /**
+     * Tag of the ids and versions the page was built from (see {@code StudentService#getStudentsVersionTag}), so
+     * the page can be given an ETag without another query. Not serialized.
+     */
+    @JsonIgnore
+    private String versionTag;
+
+    public StudentPageResponse(List<StudentDto> students, String nextCursor) {
+        this(students, nextCursor, null);
+    }
+}
@@ -0,0 +1,22 @@
+package com.projects.studentrestapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Partial update of a student. Fields left null are not changed; {@code version} is the version the client
+ * last read and is required.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class StudentPatchRequest {
+
+    private String firstName;
+    private String lastName;
+    private String email;
+    private Long version;
+}
@@ -0,0 +1,19 @@
+package com.projects.studentrestapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class StudentSearchResponse {
+
+    private List<StudentDto> students;
+    private int page;
+    private boolean hasNext;
+}
@@ -0,0 +1,18 @@
+package com.projects.studentrestapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class StudentSuggestion {
+
+    private long id;
+    private String firstName;
+    private String lastName;
+    private String email;
+}
@@ -2,19 +2,41 @@ package com.projects.studentrestapi.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
 
 @Getter
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "students")
 @Table(name = "students")
 public class Student {
 
+    /**
+     * allocationSize > 1 selects Hibernate's pooled optimizer: a nextval returning {@code n} reserves the ids
+     * {@code n - ID_BLOCK_SIZE + 1} to {@code n}. Statements that take ids from the sequence themselves must follow
+     * the same rule, or they hand out ids Hibernate is about to use.
+     */
+    public static final int ID_BLOCK_SIZE = 50;
+
+    /**
+     * Timeout of every transaction that writes students. Delta sync only hands out rows older than its settle
+     * window, on the assumption that no write stays uncommitted for longer, so the window must exceed this.
+     */
+    public static final int WRITE_TIMEOUT_SECONDS = 4;
+
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "students_seq")
-    @SequenceGenerator(name = "students_seq", sequenceName = "students_seq", initialValue = 100, allocationSize = 1)
+    @SequenceGenerator(name = "students_seq", sequenceName = "students_seq", initialValue = 100,
+            allocationSize = ID_BLOCK_SIZE)
     private long id;
 
     @Column(name = "first_name", nullable = false)
@@ -25,4 +47,16 @@ public class Student {
 
     @Column(name = "email", nullable = false)
     private String email;
+
+    // The default lets Hibernate's schema update add the column to a table that already has rows
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private long version;
+
+    // Set by Hibernate on every insert and update; writes that bypass it (native and bulk statements) set it themselves
+    @UpdateTimestamp
+    @ColumnDefault("CURRENT_TIMESTAMP")
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
 }
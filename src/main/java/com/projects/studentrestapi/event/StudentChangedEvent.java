@@ -0,0 +1,36 @@
+package com.projects.studentrestapi.event;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.projects.studentrestapi.entity.Student;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published by the service layer for every student write. Listeners that must only see committed state
+ * use {@code @TransactionalEventListener}.
+ */
+@Getter
+@AllArgsConstructor
+public class StudentChangedEvent {
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final long id;
+    private final ChangeType changeType;
+
+    /**
+     * The student as written, so listeners need not read it back. {@code null} for deletes and for writes that
+     * did not load the whole student (PATCH). Kept out of the change feed's payload, which only carries the id
+     * and change type.
+     */
+    @JsonIgnore
+    private final Student student;
+
+    public StudentChangedEvent(long id, ChangeType changeType) {
+        this(id, changeType, null);
+    }
+}
@@ -0,0 +1,15 @@
+package com.projects.studentrestapi.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published once a bulk import has finished, in place of a {@link StudentChangedEvent} per imported student.
+ * Listeners refresh whatever they derive from the table as a whole.
+ */
+@Getter
+@AllArgsConstructor
+public class StudentsImportedEvent {
+
+    private final long imported;
+}
@@ -0,0 +1,46 @@
+package com.projects.studentrestapi.exception;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+
+import java.time.LocalDateTime;
+
+/**
+ * {@link GlobalExceptionHandler} for the reactive profile, with the same statuses and error bodies.
+ */
+@ControllerAdvice
+@Profile("reactive")
+public class ReactiveExceptionHandler {
+
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ResponseEntity<ErrorDetails> handleResourceNotFoundException(ResourceNotFoundException exception,
+                                                                        ServerHttpRequest request) {
+        return errorResponse(exception, request, HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(UserAlreadyExistsException.class)
+    public ResponseEntity<ErrorDetails> handleUserAlreadyExistsException(UserAlreadyExistsException exception,
+                                                                         ServerHttpRequest request) {
+        return errorResponse(exception, request, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<ErrorDetails> handleInvalidRequestException(InvalidRequestException exception,
+                                                                      ServerHttpRequest request) {
+        return errorResponse(exception, request, HttpStatus.BAD_REQUEST);
+    }
+
+    private static ResponseEntity<ErrorDetails> errorResponse(RuntimeException exception, ServerHttpRequest request,
+                                                              HttpStatus status) {
+        ErrorDetails errorDetails = new ErrorDetails();
+        errorDetails.setTimestamp(LocalDateTime.now());
+        errorDetails.setMessage(exception.getMessage());
+        // Same format as WebRequest#getDescription(false)
+        errorDetails.setDetails("uri=" + request.getPath().value());
+        return new ResponseEntity<>(errorDetails, status);
+    }
+}
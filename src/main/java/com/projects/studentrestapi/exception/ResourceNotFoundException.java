@@ -9,4 +9,8 @@ public class ResourceNotFoundException extends RuntimeException {
     public ResourceNotFoundException() {
         super("Student not found");
     }
+
+    public ResourceNotFoundException(String message) {
+        super(message);
+    }
 }
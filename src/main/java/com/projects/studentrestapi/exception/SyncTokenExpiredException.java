@@ -0,0 +1,12 @@
+package com.projects.studentrestapi.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.GONE)
+public class SyncTokenExpiredException extends RuntimeException {
+
+    public SyncTokenExpiredException() {
+        super("Sync token has expired, restart the sync without a since token");
+    }
+}
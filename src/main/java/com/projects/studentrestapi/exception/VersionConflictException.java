@@ -0,0 +1,12 @@
+package com.projects.studentrestapi.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class VersionConflictException extends RuntimeException {
+
+    public VersionConflictException() {
+        super("Student was modified by another request");
+    }
+}
@@ -0,0 +1,111 @@
+package com.projects.studentrestapi.imports;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads RFC 4180 CSV one record at a time: comma separated, fields optionally enclosed in double quotes, quotes
+ * inside quoted fields doubled. Quoted fields may span lines. Only the current record is held in memory.
+ */
+public class CsvReader {
+
+    private final Reader reader;
+
+    private final StringBuilder field = new StringBuilder();
+
+    private int pending = -2;
+
+    private long line = 1;
+
+    private long recordLine;
+
+    public CsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * @return the fields of the next record, or null at the end of the input. Blank lines are skipped.
+     * @throws IOException on read errors, or when a quoted field is not closed
+     */
+    public List<String> readRecord() throws IOException {
+        int c = read();
+        while (c == '\n') {
+            c = read();
+        }
+        if (c == -1) {
+            return null;
+        }
+        recordLine = line;
+        List<String> fields = new ArrayList<>();
+        while (true) {
+            field.setLength(0);
+            if (c == '"') {
+                c = readQuoted();
+            }
+            // Anything after a closing quote is kept, as most CSV writers that produce it intend
+            while (c != ',' && c != '\n' && c != -1) {
+                field.append((char) c);
+                c = read();
+            }
+            fields.add(field.toString());
+            if (c != ',') {
+                return fields;
+            }
+            c = read();
+        }
+    }
+
+    /**
+     * @return the line the last record returned by {@link #readRecord()} starts on, counting from 1
+     */
+    public long getRecordLine() {
+        return recordLine;
+    }
+
+    /**
+     * Reads a quoted field into {@link #field} and returns the character after it.
+     */
+    private int readQuoted() throws IOException {
+        long startLine = line;
+        while (true) {
+            int c = read();
+            if (c == -1) {
+                throw new IOException("Unterminated quoted field starting on line " + startLine);
+            }
+            if (c == '"') {
+                c = read();
+                if (c != '"') {
+                    return c;
+                }
+            }
+            field.append((char) c);
+        }
+    }
+
+    /**
+     * @return the next character, with CR and CRLF line breaks turned into LF
+     */
+    private int read() throws IOException {
+        int c;
+        if (pending != -2) {
+            c = pending;
+            pending = -2;
+        } else {
+            c = reader.read();
+        }
+        if (c == '\n') {
+            line++;
+        } else if (c == '\r') {
+            // A lone CR ends a line as well; CRLF counts once
+            int next = reader.read();
+            if (next != '\n') {
+                pending = next;
+            }
+            line++;
+            return '\n';
+        }
+        return c;
+    }
+}
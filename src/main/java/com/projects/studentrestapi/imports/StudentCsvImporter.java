@@ -0,0 +1,174 @@
+package com.projects.studentrestapi.imports;
+
+import com.projects.studentrestapi.dto.StudentImportRow;
+import com.projects.studentrestapi.event.StudentsImportedEvent;
+import com.projects.studentrestapi.repository.StudentRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Pattern;
+
+/**
+ * Imports students from CSV files in the background.
+ * <p>
+ * The file is read one record at a time. Rows that fail validation are reported and skipped; valid rows are
+ * collected into chunks, and each chunk is loaded with {@code COPY} and merged into {@code students} in its own
+ * transaction (see {@link StudentRepository#importRows}), which also rejects emails that are already taken. Memory
+ * use is bounded by the chunk size whatever the size of the file, and a failure leaves the chunks before it
+ * imported.
+ * <p>
+ * The header names the columns, in any order: {@code firstName}, {@code lastName} and {@code email}
+ * ({@code first_name} and {@code last_name} are accepted too).
+ */
+@Slf4j
+@Component
+public class StudentCsvImporter {
+
+    static final int CHUNK_SIZE = 10_000;
+
+    private static final int MAX_FIELD_LENGTH = 255;
+
+    private static final Pattern EMAIL = Pattern.compile("[^@\\s]+@[^@\\s]+");
+
+    private static final String[] COLUMNS = {"firstname", "lastname", "email"};
+
+    private final StudentRepository studentRepository;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final ExecutorService executor;
+
+    public StudentCsvImporter(StudentRepository studentRepository, ApplicationEventPublisher eventPublisher,
+                              @Value("${student.import.concurrency:2}") int concurrency) {
+        this.studentRepository = studentRepository;
+        this.eventPublisher = eventPublisher;
+        this.executor = Executors.newFixedThreadPool(concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "student-import");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Queues the import of {@code file}, which is deleted once the import has finished.
+     */
+    public void submit(StudentImportJob job, Path file) {
+        executor.execute(() -> run(job, file));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    void run(StudentImportJob job, Path file) {
+        job.start();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            importCsv(job, new CsvReader(reader));
+        } catch (IOException | RuntimeException exception) {
+            log.warn("Student import {} failed", job.getId(), exception);
+            job.fail(exception.getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException exception) {
+                log.warn("Could not delete student import file {}", file, exception);
+            }
+            if (job.getRowsImported() > 0) {
+                eventPublisher.publishEvent(new StudentsImportedEvent(job.getRowsImported()));
+            }
+        }
+    }
+
+    private void importCsv(StudentImportJob job, CsvReader csv) throws IOException {
+        List<String> header = csv.readRecord();
+        int[] columns = header == null ? null : columnIndexes(header);
+        if (columns == null) {
+            job.fail("The first line must name the firstName, lastName and email columns");
+            return;
+        }
+        List<StudentImportRow> chunk = new ArrayList<>(CHUNK_SIZE);
+        List<String> record;
+        while ((record = csv.readRecord()) != null) {
+            job.rowRead();
+            long line = csv.getRecordLine();
+            if (record.size() != header.size()) {
+                job.reject(line, "Expected " + header.size() + " fields but found " + record.size());
+                continue;
+            }
+            StudentImportRow row = new StudentImportRow(line, record.get(columns[0]).strip(),
+                    record.get(columns[1]).strip(), record.get(columns[2]).strip());
+            String error = validate(row);
+            if (error != null) {
+                job.reject(line, error);
+                continue;
+            }
+            chunk.add(row);
+            if (chunk.size() == CHUNK_SIZE) {
+                importChunk(job, chunk);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(job, chunk);
+        }
+        job.complete();
+    }
+
+    private void importChunk(StudentImportJob job, List<StudentImportRow> chunk) {
+        List<Long> rejectedLines = studentRepository.importRows(chunk);
+        for (long line : rejectedLines) {
+            job.reject(line, "Email already exists or appears on an earlier line");
+        }
+        job.imported(chunk.size() - rejectedLines.size());
+    }
+
+    /**
+     * @return the position of each of {@link #COLUMNS} in the header, or null when one is missing
+     */
+    private static int[] columnIndexes(List<String> header) {
+        int[] indexes = new int[COLUMNS.length];
+        for (int column = 0; column < COLUMNS.length; column++) {
+            indexes[column] = -1;
+            for (int i = 0; i < header.size(); i++) {
+                // Spreadsheet exports often start with a byte order mark
+                String name = header.get(i).replace("\uFEFF", "").replace("_", "").strip()
+                        .toLowerCase(Locale.ROOT);
+                if (name.equals(COLUMNS[column])) {
+                    indexes[column] = i;
+                }
+            }
+            if (indexes[column] < 0) {
+                return null;
+            }
+        }
+        return indexes;
+    }
+
+    private static String validate(StudentImportRow row) {
+        if (row.getFirstName().isEmpty() || row.getLastName().isEmpty() || row.getEmail().isEmpty()) {
+            return "firstName, lastName and email are required";
+        }
+        if (row.getFirstName().length() > MAX_FIELD_LENGTH || row.getLastName().length() > MAX_FIELD_LENGTH
+                || row.getEmail().length() > MAX_FIELD_LENGTH) {
+            return "Fields must not be longer than " + MAX_FIELD_LENGTH + " characters";
+        }
+        if (!EMAIL.matcher(row.getEmail()).matches()) {
+            return "Invalid email: " + row.getEmail();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,81 @@
+package com.projects.studentrestapi.imports;
+
+import com.projects.studentrestapi.dto.StudentImportError;
+import com.projects.studentrestapi.dto.StudentImportStatus;
+import com.projects.studentrestapi.dto.StudentImportStatus.State;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Progress of one import. Updated by the single thread running the import, read by status requests.
+ */
+public class StudentImportJob {
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    @Getter
+    private final String id;
+
+    private final Instant createdAt = Instant.now();
+
+    private final List<StudentImportError> errors = new CopyOnWriteArrayList<>();
+
+    private volatile State state = State.QUEUED;
+
+    private volatile long rowsRead;
+
+    @Getter
+    private volatile long rowsImported;
+
+    private volatile long rowsRejected;
+
+    private volatile String failure;
+
+    private volatile Instant startedAt;
+
+    private volatile Instant finishedAt;
+
+    public StudentImportJob(String id) {
+        this.id = id;
+    }
+
+    public StudentImportStatus toStatus() {
+        return new StudentImportStatus(id, state, rowsRead, rowsImported, rowsRejected, new ArrayList<>(errors),
+                failure, createdAt, startedAt, finishedAt);
+    }
+
+    void start() {
+        startedAt = Instant.now();
+        state = State.RUNNING;
+    }
+
+    void rowRead() {
+        rowsRead++;
+    }
+
+    void imported(long rows) {
+        rowsImported += rows;
+    }
+
+    void reject(long line, String message) {
+        rowsRejected++;
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(new StudentImportError(line, message));
+        }
+    }
+
+    void complete() {
+        finishedAt = Instant.now();
+        state = State.COMPLETED;
+    }
+
+    void fail(String message) {
+        failure = message;
+        finishedAt = Instant.now();
+        state = State.FAILED;
+    }
+}
@@ -0,0 +1,24 @@
+package com.projects.studentrestapi.mapper;
+
+import com.projects.studentrestapi.dto.StudentDto;
+import com.projects.studentrestapi.dto.StudentField;
+import com.projects.studentrestapi.entity.Student;
+import org.mapstruct.Mapper;
+import org.mapstruct.MappingConstants;
+
+import java.util.List;
+import java.util.Set;
+
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
+public interface StudentMapper {
+
+    StudentDto toDto(Student student);
+
+    List<StudentDto> toDtos(List<Student> students);
+
+    default StudentDto toDto(Student student, Set<StudentField> fields) {
+        StudentDto dto = toDto(student);
+        dto.retainOnly(fields);
+        return dto;
+    }
+}
@@ -0,0 +1,102 @@
+package com.projects.studentrestapi.repository;
+
+import com.projects.studentrestapi.dto.StudentChange;
+import com.projects.studentrestapi.dto.StudentDto;
+import com.projects.studentrestapi.dto.StudentField;
+import com.projects.studentrestapi.dto.StudentImportRow;
+import com.projects.studentrestapi.entity.Student;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Queries that Spring Data cannot derive or declare statically, implemented in
+ * {@link CustomStudentRepositoryImpl}.
+ */
+public interface CustomStudentRepository {
+
+    /**
+     * Sets the non-null fields, bumps the version and refreshes the update time in a single {@code UPDATE ... WHERE id = ? AND version = ?},
+     * without loading the student first.
+     *
+     * @return the number of updated rows: 0 when the student does not exist or its version has moved on
+     */
+    int updateFields(long id, long expectedVersion, String firstName, String lastName, String email);
+
+    /**
+     * Deletes the students in a single {@code DELETE ... WHERE id = ANY(?)}, without loading them first, and records
+     * a tombstone for each of them in the same statement (Postgres only, see schema-postgresql.sql).
+     * The ids are bound as one array, so every call shares one statement whatever the number of ids.
+     * Hibernate does not see this write: callers must publish DELETED change events so caches are evicted.
+     *
+     * @return the ids of the students that existed and were deleted
+     */
+    List<Long> deleteByIds(Collection<Long> ids);
+
+    /**
+     * Ranked full-text search over names and email (Postgres only, see schema-postgresql.sql). A student matches
+     * when every word of the query is a prefix of one of its words, or when the query is similar enough to its
+     * text to survive a typo ({@code pg_trgm} word similarity). The best matches come first.
+     */
+    List<Student> searchFullText(String query, int offset, int limit);
+
+    /**
+     * Prefix search on last and first name (Postgres only), served by the name indexes from schema-postgresql.sql:
+     * by last name then first name, or by first name alone when {@code lastNamePrefix} is empty. An empty
+     * {@code firstNamePrefix} matches every first name. Names compare and sort in the {@code "C"} collation of the
+     * indexes, that is by character code, so the matches are read off the index already in order.
+     */
+    List<Student> searchByNamePrefix(String lastNamePrefix, String firstNamePrefix, int offset, int limit);
+
+    /**
+     * Keyset page of students after {@code afterId}, selecting only the columns of {@code fields}. Rows are read
+     * as tuples, so no entity is hydrated or tracked.
+     */
+    List<StudentDto> findPage(long afterId, int limit, Set<StudentField> fields);
+
+    /**
+     * Students changed and tombstones written after {@code (afterTime, afterId)} and before {@code until}, in
+     * {@code (changedAt, id)} order (Postgres only). Tombstones older than {@code deletedFrom} are skipped.
+     * Both sides are read off their {@code (timestamp, id)} indexes, so the cost follows the number of changes.
+     */
+    List<StudentChange> findChanges(Instant afterTime, long afterId, Instant until, Instant deletedFrom, int limit);
+
+    /**
+     * @return the number of tombstones written before {@code cutoff} that were removed
+     */
+    int purgeTombstones(Instant cutoff);
+
+    /**
+     * Loads the rows with {@code COPY} into a temporary staging table, then inserts those whose email is not
+     * taken in one {@code INSERT ... SELECT ... ON CONFLICT DO NOTHING} (Postgres only). Of rows sharing an email
+     * within the chunk, the first one wins. Runs in its own transaction.
+     * Hibernate does not see this write: callers must publish a {@code StudentsImportedEvent}.
+     *
+     * @return the lines of the rows that were not inserted because their email already exists
+     */
+    List<Long> importRows(List<StudentImportRow> rows);
+
+    /**
+     * Inserts the student unless the (case-insensitive) email is already taken, in one round trip.
+     * Relies on the {@code ux_students_email_lower} unique index from schema-postgresql.sql. The id comes from
+     * Hibernate's id generator, so it is usually taken from the block already reserved in memory.
+     * Hibernate does not see this as a write, so cached query results are dropped by
+     * {@link com.projects.studentrestapi.cache.HibernateCacheEvictor} once it commits.
+     *
+     * @return the inserted student, or empty when the email already exists
+     */
+    Optional<Student> insertIfEmailAbsent(String firstName, String lastName, String email);
+
+    /**
+     * Inserts the students whose email is not taken in one {@code INSERT ... SELECT FROM unnest(...) ON CONFLICT DO
+     * NOTHING} (Postgres only), with the columns bound as arrays so every call shares one statement. Emails must be
+     * distinct, ignoring case. Ids come from Hibernate's id generator. Runs in its own transaction.
+     * Hibernate does not see this write: callers must publish CREATED change events.
+     *
+     * @return the inserted students, with their generated ids; students whose email already exists are left out
+     */
+    List<Student> insertAllIfEmailAbsent(List<Student> students);
+}
@@ -0,0 +1,424 @@
+package com.projects.studentrestapi.repository;
+
+import com.projects.studentrestapi.dto.StudentChange;
+import com.projects.studentrestapi.dto.StudentDto;
+import com.projects.studentrestapi.dto.StudentField;
+import com.projects.studentrestapi.dto.StudentImportRow;
+import com.projects.studentrestapi.entity.Student;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.hibernate.cache.spi.TimestampsCache;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.postgresql.PGConnection;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+@RequiredArgsConstructor
+public class CustomStudentRepositoryImpl implements CustomStudentRepository {
+
+    // The query is split into words by the same parser as search_vector; each word becomes a prefix term.
+    // A query without words (only punctuation) has NULL terms and is ranked on similarity alone.
+    private static final String FULL_TEXT_SEARCH = """
+            WITH query AS (
+                SELECT to_tsquery('simple', string_agg(quote_literal(word) || ':*', ' & ')) AS terms
+                FROM unnest(tsvector_to_array(to_tsvector('simple', :query))) AS word
+            )
+            SELECT s.* FROM students s, query
+            WHERE s.search_vector @@ query.terms OR :query <% s.search_text
+            ORDER BY coalesce(ts_rank(s.search_vector, query.terms), 0) + word_similarity(:query, s.search_text) DESC,
+                s.id""";
+
+    private static final String SEARCH_BY_LAST_NAME = """
+            SELECT * FROM students
+            WHERE last_name COLLATE "C" LIKE :lastName AND first_name COLLATE "C" LIKE :firstName
+            ORDER BY last_name COLLATE "C", first_name COLLATE "C", id""";
+
+    private static final String SEARCH_BY_FIRST_NAME = """
+            SELECT * FROM students
+            WHERE first_name COLLATE "C" LIKE :firstName
+            ORDER BY first_name COLLATE "C", id""";
+
+    private static final String DELETE_WITH_TOMBSTONES = """
+            WITH deleted AS (DELETE FROM students WHERE id = ANY(?) RETURNING id)
+            INSERT INTO student_tombstones (id, deleted_at)
+            SELECT id, now() FROM deleted
+            ON CONFLICT (id) DO UPDATE SET deleted_at = excluded.deleted_at
+            RETURNING id""";
+
+    // Each branch is limited on its own index before the two are merged
+    private static final String FIND_CHANGES = """
+            (SELECT id, first_name, last_name, email, version, updated_at AS changed_at, false AS deleted
+             FROM students
+             WHERE (updated_at, id) > (?, ?) AND updated_at < ?
+             ORDER BY updated_at, id
+             LIMIT ?)
+            UNION ALL
+            (SELECT id, NULL, NULL, NULL, NULL, deleted_at, true
+             FROM student_tombstones
+             WHERE (deleted_at, id) > (?, ?) AND deleted_at < ? AND deleted_at >= ?
+             ORDER BY deleted_at, id
+             LIMIT ?)
+            ORDER BY changed_at, id
+            LIMIT ?""";
+
+    private static final String CREATE_IMPORT_STAGING = """
+            CREATE TEMP TABLE student_import_staging (line bigint, first_name text, last_name text, email text)
+            ON COMMIT DROP""";
+
+    private static final String COPY_IMPORT_STAGING =
+            "COPY student_import_staging (line, first_name, last_name, email) FROM STDIN (FORMAT csv)";
+
+    // Rows that lose to an earlier line with the same email, or to an existing student, come back as rejected.
+    // Ids are reserved a block per nextval, the way Hibernate's pooled optimizer does (see Student.ID_BLOCK_SIZE).
+    private static final String MERGE_IMPORT_STAGING = """
+            WITH candidates AS (
+                SELECT DISTINCT ON (lower(email)) line, first_name, last_name, email
+                FROM student_import_staging
+                ORDER BY lower(email), line
+            ), numbered AS (
+                SELECT c.*, row_number() OVER (ORDER BY line) - 1 AS n FROM candidates c
+            ), blocks AS (
+                SELECT block, nextval('students_seq') AS last_id
+                FROM generate_series(0, (SELECT (count(*) - 1) / %1$d FROM numbered)) AS block
+                -- (0 - 1) / n is 0, so without candidates the series would still reserve a block
+                WHERE (SELECT count(*) FROM numbered) > 0
+            ), inserted AS (
+                INSERT INTO students (id, first_name, last_name, email, version, updated_at)
+                SELECT b.last_id - %1$d + 1 + n %% %1$d, first_name, last_name, email, 0, now()
+                FROM numbered JOIN blocks b ON b.block = n / %1$d
+                ORDER BY line
+                ON CONFLICT (lower(email)) DO NOTHING
+                RETURNING lower(email) AS email_key
+            )
+            SELECT s.line FROM student_import_staging s
+            WHERE NOT EXISTS (
+                SELECT 1 FROM candidates c JOIN inserted i ON i.email_key = lower(c.email)
+                WHERE c.line = s.line)
+            ORDER BY s.line""".formatted(Student.ID_BLOCK_SIZE);
+
+    private static final String INSERT_IF_EMAIL_ABSENT = """
+            INSERT INTO students (id, first_name, last_name, email, version, updated_at)
+            VALUES (?, ?, ?, ?, 0, now())
+            ON CONFLICT (lower(email)) DO NOTHING
+            RETURNING *""";
+
+    // WITH ORDINALITY keeps the rows in request order
+    private static final String INSERT_ALL_IF_EMAIL_ABSENT = """
+            INSERT INTO students (id, first_name, last_name, email, version, updated_at)
+            SELECT id, first_name, last_name, email, 0, now()
+            FROM unnest(?::bigint[], ?::text[], ?::text[], ?::text[]) WITH ORDINALITY
+                AS s(id, first_name, last_name, email, ord)
+            ORDER BY ord
+            ON CONFLICT (lower(email)) DO NOTHING
+            RETURNING id, first_name, last_name, email, version, updated_at""";
+
+    private static final String[] STUDENTS_QUERY_SPACE = {"students"};
+
+    private final EntityManager entityManager;
+
+    @Override
+    @Transactional(timeout = Student.WRITE_TIMEOUT_SECONDS)
+    public int updateFields(long id, long expectedVersion, String firstName, String lastName, String email) {
+        HibernateCriteriaBuilder criteriaBuilder = entityManager.unwrap(Session.class).getCriteriaBuilder();
+        CriteriaUpdate<Student> update = criteriaBuilder.createCriteriaUpdate(Student.class);
+        Root<Student> student = update.from(Student.class);
+        if (firstName != null) {
+            update.set(student.<String>get("firstName"), firstName);
+        }
+        if (lastName != null) {
+            update.set(student.<String>get("lastName"), lastName);
+        }
+        if (email != null) {
+            update.set(student.<String>get("email"), email);
+        }
+        update.set(student.<Long>get("version"), criteriaBuilder.sum(student.<Long>get("version"), 1L));
+        // The database clock, like the native writers' now(), so delta sync orders every write on one clock
+        update.set(student.<Instant>get("updatedAt"), criteriaBuilder.currentInstant());
+        update.where(criteriaBuilder.equal(student.get("id"), id),
+                criteriaBuilder.equal(student.get("version"), expectedVersion));
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    @Override
+    @Transactional(timeout = Student.WRITE_TIMEOUT_SECONDS)
+    public List<Long> deleteByIds(Collection<Long> ids) {
+        invalidateCachedQueries();
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            limitToTransactionTimeout(connection);
+            try (PreparedStatement statement = connection.prepareStatement(DELETE_WITH_TOMBSTONES)) {
+                statement.setArray(1, connection.createArrayOf("bigint", ids.toArray()));
+                List<Long> deletedIds = new ArrayList<>(ids.size());
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        deletedIds.add(resultSet.getLong(1));
+                    }
+                }
+                return deletedIds;
+            }
+        });
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Student> searchFullText(String query, int offset, int limit) {
+        return entityManager.createNativeQuery(FULL_TEXT_SEARCH, Student.class)
+                .setParameter("query", query)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Student> searchByNamePrefix(String lastNamePrefix, String firstNamePrefix, int offset, int limit) {
+        Query query = lastNamePrefix.isEmpty()
+                ? entityManager.createNativeQuery(SEARCH_BY_FIRST_NAME, Student.class)
+                : entityManager.createNativeQuery(SEARCH_BY_LAST_NAME, Student.class)
+                        .setParameter("lastName", likePrefix(lastNamePrefix));
+        return query.setParameter("firstName", likePrefix(firstNamePrefix))
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public List<StudentDto> findPage(long afterId, int limit, Set<StudentField> fields) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<Student> student = query.from(Student.class);
+        List<Selection<?>> selections = fields.stream()
+                .<Selection<?>>map(field -> student.get(field.getAttribute()).alias(field.getAttribute()))
+                .toList();
+        query.multiselect(selections)
+                .where(criteriaBuilder.greaterThan(student.get("id"), afterId))
+                .orderBy(criteriaBuilder.asc(student.get("id")));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList()
+                .stream()
+                .map(tuple -> new StudentDto(
+                        fields.contains(StudentField.ID) ? tuple.get("id", Long.class) : null,
+                        fields.contains(StudentField.FIRST_NAME) ? tuple.get("firstName", String.class) : null,
+                        fields.contains(StudentField.LAST_NAME) ? tuple.get("lastName", String.class) : null,
+                        fields.contains(StudentField.EMAIL) ? tuple.get("email", String.class) : null,
+                        fields.contains(StudentField.VERSION) ? tuple.get("version", Long.class) : null,
+                        fields.contains(StudentField.UPDATED_AT) ? tuple.get("updatedAt", Instant.class) : null))
+                .toList();
+    }
+
+    @Override
+    public List<StudentChange> findChanges(Instant afterTime, long afterId, Instant until, Instant deletedFrom,
+                                           int limit) {
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(FIND_CHANGES)) {
+                statement.setObject(1, toTimestamp(afterTime));
+                statement.setLong(2, afterId);
+                statement.setObject(3, toTimestamp(until));
+                statement.setInt(4, limit);
+                statement.setObject(5, toTimestamp(afterTime));
+                statement.setLong(6, afterId);
+                statement.setObject(7, toTimestamp(until));
+                statement.setObject(8, toTimestamp(deletedFrom));
+                statement.setInt(9, limit);
+                statement.setInt(10, limit);
+                List<StudentChange> changes = new ArrayList<>(limit);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        long id = resultSet.getLong("id");
+                        Instant changedAt = resultSet.getObject("changed_at", OffsetDateTime.class).toInstant();
+                        StudentDto student = resultSet.getBoolean("deleted") ? null : new StudentDto(id,
+                                resultSet.getString("first_name"),
+                                resultSet.getString("last_name"),
+                                resultSet.getString("email"),
+                                resultSet.getLong("version"),
+                                changedAt);
+                        changes.add(new StudentChange(id, changedAt, student));
+                    }
+                }
+                return changes;
+            }
+        });
+    }
+
+    @Override
+    @Transactional
+    public int purgeTombstones(Instant cutoff) {
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "DELETE FROM student_tombstones WHERE deleted_at < ?")) {
+                statement.setObject(1, toTimestamp(cutoff));
+                return statement.executeUpdate();
+            }
+        });
+    }
+
+    @Override
+    @Transactional(timeout = Student.WRITE_TIMEOUT_SECONDS)
+    public List<Long> importRows(List<StudentImportRow> rows) {
+        StringBuilder csv = new StringBuilder(rows.size() * 64);
+        for (StudentImportRow row : rows) {
+            csv.append(row.getLine()).append(',');
+            appendQuoted(csv, row.getFirstName()).append(',');
+            appendQuoted(csv, row.getLastName()).append(',');
+            appendQuoted(csv, row.getEmail()).append('\n');
+        }
+        invalidateCachedQueries();
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            limitToTransactionTimeout(connection);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(CREATE_IMPORT_STAGING);
+            }
+            limitToTransactionTimeout(connection);
+            try {
+                connection.unwrap(PGConnection.class).getCopyAPI()
+                        .copyIn(COPY_IMPORT_STAGING, new StringReader(csv.toString()));
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+            List<Long> rejectedLines = new ArrayList<>();
+            limitToTransactionTimeout(connection);
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(MERGE_IMPORT_STAGING)) {
+                while (resultSet.next()) {
+                    rejectedLines.add(resultSet.getLong(1));
+                }
+            }
+            return rejectedLines;
+        });
+    }
+
+    @Override
+    @Transactional(timeout = Student.WRITE_TIMEOUT_SECONDS)
+    @SuppressWarnings("unchecked")
+    public Optional<Student> insertIfEmailAbsent(String firstName, String lastName, String email) {
+        invalidateCachedQueries();
+        return entityManager.createNativeQuery(INSERT_IF_EMAIL_ABSENT, Student.class)
+                .setParameter(1, generateId())
+                .setParameter(2, firstName)
+                .setParameter(3, lastName)
+                .setParameter(4, email)
+                .getResultStream()
+                .findFirst();
+    }
+
+    @Override
+    @Transactional(timeout = Student.WRITE_TIMEOUT_SECONDS)
+    public List<Student> insertAllIfEmailAbsent(List<Student> students) {
+        Long[] ids = new Long[students.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = generateId();
+        }
+        invalidateCachedQueries();
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            limitToTransactionTimeout(connection);
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_ALL_IF_EMAIL_ABSENT)) {
+                statement.setArray(1, connection.createArrayOf("bigint", ids));
+                statement.setArray(2, connection.createArrayOf("text",
+                        students.stream().map(Student::getFirstName).toArray()));
+                statement.setArray(3, connection.createArrayOf("text",
+                        students.stream().map(Student::getLastName).toArray()));
+                statement.setArray(4, connection.createArrayOf("text",
+                        students.stream().map(Student::getEmail).toArray()));
+                List<Student> inserted = new ArrayList<>(students.size());
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        inserted.add(Student.builder()
+                                .id(resultSet.getLong("id"))
+                                .firstName(resultSet.getString("first_name"))
+                                .lastName(resultSet.getString("last_name"))
+                                .email(resultSet.getString("email"))
+                                .version(resultSet.getLong("version"))
+                                .updatedAt(resultSet.getObject("updated_at", OffsetDateTime.class).toInstant())
+                                .build());
+                    }
+                }
+                return inserted;
+            }
+        });
+    }
+
+    /**
+     * Native writes are invisible to Hibernate, so they follow its protocol for bulk statements by hand: cached
+     * query results over {@code students} are treated as stale from now until the transaction has completed, so a
+     * result read before the write cannot be cached or served after it. Unlike a bulk statement, the student
+     * entity cache is left alone: the change events evict the affected students.
+     */
+    private void invalidateCachedQueries() {
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        TimestampsCache timestampsCache = session.getFactory().getCache().getTimestampsCache();
+        timestampsCache.preInvalidate(STUDENTS_QUERY_SPACE, session);
+        session.getActionQueue().registerProcess((success, completedSession) ->
+                timestampsCache.invalidate(STUDENTS_QUERY_SPACE, completedSession));
+    }
+
+    /**
+     * Takes the next id from Hibernate's generator, so native inserts share its in-memory block of ids instead of
+     * reserving a block each.
+     */
+    private long generateId() {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        BeforeExecutionGenerator generator = (BeforeExecutionGenerator) session.getFactory().getMappingMetamodel()
+                .getEntityDescriptor(Student.class).getGenerator();
+        return (Long) generator.generate(session, null, null, EventType.INSERT);
+    }
+
+    /**
+     * Statements run on the raw connection escape the timeout Spring and Hibernate put on their own statements, so
+     * each is limited to what is left of the transaction's timeout ({@code SET LOCAL} lasts until commit).
+     */
+    private void limitToTransactionTimeout(Connection connection) throws SQLException {
+        EntityManagerHolder holder = (EntityManagerHolder) TransactionSynchronizationManager.getResource(
+                entityManager.getEntityManagerFactory());
+        if (holder == null || !holder.hasTimeout()) {
+            return;
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET LOCAL statement_timeout = " + holder.getTimeToLiveInMillis());
+        }
+    }
+
+    /**
+     * @return a LIKE pattern matching the values that start with {@code prefix}, wildcards included
+     */
+    private static String likePrefix(String prefix) {
+        return prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + '%';
+    }
+
+    private static StringBuilder appendQuoted(StringBuilder csv, String value) {
+        return csv.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+
+    private static OffsetDateTime toTimestamp(Instant instant) {
+        return instant.atOffset(ZoneOffset.UTC);
+    }
+}
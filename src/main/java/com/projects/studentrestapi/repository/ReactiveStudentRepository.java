@@ -0,0 +1,150 @@
+package com.projects.studentrestapi.repository;
+
+import com.projects.studentrestapi.entity.Student;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Non-blocking access to the {@code students} table over R2DBC, for the reactive profile. Same table, indexes
+ * and write semantics as {@link StudentRepository} (Postgres only).
+ * <p>
+ * Like the native writes of {@link StudentRepository}, Hibernate does not see these writes: callers must publish
+ * change events so caches are evicted.
+ */
+@Repository
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveStudentRepository {
+
+    private static final String COLUMNS = "id, first_name, last_name, email, version, updated_at";
+
+    private static final String INSERT_IF_EMAIL_ABSENT = """
+            INSERT INTO students (id, first_name, last_name, email, version, updated_at)
+            VALUES (:id, :firstName, :lastName, :email, 0, now())
+            ON CONFLICT (lower(email)) DO NOTHING
+            RETURNING\s""" + COLUMNS;
+
+    private static final String UPDATE = """
+            UPDATE students SET first_name = :firstName, last_name = :lastName, email = :email,
+                version = version + 1, updated_at = now()
+            WHERE id = :id
+            RETURNING\s""" + COLUMNS;
+
+    // Same statement as CustomStudentRepository#deleteByIds, so deletes leave a tombstone for sync clients
+    private static final String DELETE_WITH_TOMBSTONE = """
+            WITH deleted AS (DELETE FROM students WHERE id = :id RETURNING id)
+            INSERT INTO student_tombstones (id, deleted_at)
+            SELECT id, now() FROM deleted
+            ON CONFLICT (id) DO UPDATE SET deleted_at = excluded.deleted_at
+            RETURNING id""";
+
+    private final DatabaseClient databaseClient;
+
+    // Ids reserved with the last nextval, handed out like Hibernate's pooled optimizer does (see Student.ID_BLOCK_SIZE)
+    private long nextId;
+
+    private long lastReservedId = -1;
+
+    public Mono<Student> findById(long id) {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM students WHERE id = :id")
+                .bind("id", id)
+                .map(ReactiveStudentRepository::toStudent)
+                .one();
+    }
+
+    /**
+     * Keyset page of students after {@code afterId}, in id order.
+     */
+    public Flux<Student> findPage(long afterId, int limit) {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM students WHERE id > :afterId ORDER BY id LIMIT :limit")
+                .bind("afterId", afterId)
+                .bind("limit", limit)
+                .map(ReactiveStudentRepository::toStudent)
+                .all();
+    }
+
+    /**
+     * Every student in id order. Rows are fetched {@code fetchSize} at a time as the subscriber asks for them,
+     * so a slow consumer holds back the query instead of buffering the table.
+     */
+    public Flux<Student> streamAll(int fetchSize) {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM students ORDER BY id")
+                .filter(statement -> statement.fetchSize(fetchSize))
+                .map(ReactiveStudentRepository::toStudent)
+                .all();
+    }
+
+    /**
+     * @return the inserted student, or empty when the (case-insensitive) email is already taken
+     */
+    public Mono<Student> insertIfEmailAbsent(String firstName, String lastName, String email) {
+        return generateId().flatMap(id -> databaseClient.sql(INSERT_IF_EMAIL_ABSENT)
+                .bind("id", id)
+                .bind("firstName", firstName)
+                .bind("lastName", lastName)
+                .bind("email", email)
+                .map(ReactiveStudentRepository::toStudent)
+                .one());
+    }
+
+    /**
+     * @return the updated student, or empty when it does not exist
+     */
+    public Mono<Student> update(long id, String firstName, String lastName, String email) {
+        return databaseClient.sql(UPDATE)
+                .bind("id", id)
+                .bind("firstName", firstName)
+                .bind("lastName", lastName)
+                .bind("email", email)
+                .map(ReactiveStudentRepository::toStudent)
+                .one();
+    }
+
+    /**
+     * @return whether the student existed and was deleted
+     */
+    public Mono<Boolean> deleteById(long id) {
+        return databaseClient.sql(DELETE_WITH_TOMBSTONE)
+                .bind("id", id)
+                .map(row -> row.get("id", Long.class))
+                .all()
+                .hasElements();
+    }
+
+    private Mono<Long> generateId() {
+        synchronized (this) {
+            if (nextId <= lastReservedId) {
+                return Mono.just(nextId++);
+            }
+        }
+        return databaseClient.sql("SELECT nextval('students_seq')")
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .map(lastId -> {
+                    synchronized (this) {
+                        // Of concurrent reservations the last one is kept; the others only lose their spare ids
+                        nextId = lastId - Student.ID_BLOCK_SIZE + 2;
+                        lastReservedId = lastId;
+                    }
+                    return lastId - Student.ID_BLOCK_SIZE + 1;
+                });
+    }
+
+    private static Student toStudent(Readable row) {
+        return Student.builder()
+                .id(row.get("id", Long.class))
+                .firstName(row.get("first_name", String.class))
+                .lastName(row.get("last_name", String.class))
+                .email(row.get("email", String.class))
+                .version(row.get("version", Long.class))
+                .updatedAt(row.get("updated_at", OffsetDateTime.class).toInstant())
+                .build();
+    }
+}
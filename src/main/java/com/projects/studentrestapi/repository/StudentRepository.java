@@ -1,24 +1,93 @@
 package com.projects.studentrestapi.repository;
 
 import com.projects.studentrestapi.entity.Student;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface StudentRepository extends JpaRepository<Student, Long> {
+public interface StudentRepository extends JpaRepository<Student, Long>, CustomStudentRepository {
 
+    // Redeclared for the write timeout (see Student.WRITE_TIMEOUT_SECONDS)
+    @Override
+    @Transactional(timeout = Student.WRITE_TIMEOUT_SECONDS)
+    <S extends Student> S saveAndFlush(S student);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Student> findByEmail(String email);
 
+    /**
+     * @param emails lower-cased emails
+     * @return the lower-cased emails that already belong to a student
+     */
+    @Query("SELECT lower(s.email) FROM Student s WHERE lower(s.email) IN :emails")
+    List<String> findExistingEmails(Collection<String> emails);
+
+    /**
+     * Keyset page: seeks past {@code id} on the primary key index instead of skipping rows with OFFSET,
+     * so the cost of a page does not depend on how deep into the table it is.
+     */
+    List<Student> findByIdGreaterThanOrderByIdAsc(long id, Limit limit);
+
+    /**
+     * Server-side cursor over the whole table. Must be consumed inside a transaction (so the driver keeps the
+     * cursor open and honours the fetch size) and closed afterwards.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT s FROM Student s ORDER BY s.id")
+    Stream<Student> streamAll();
+
+    /**
+     * @deprecated fails when several students share a name; use
+     * {@link #searchByNamePrefix(String, String, int, int)}
+     */
+    @Deprecated
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT s FROM Student s WHERE s.firstName = ?1 AND s.lastName = ?2")
     Student findByJPQL(String firstName, String lastName);
 
+    /**
+     * @deprecated fails when several students share a name; use
+     * {@link #searchByNamePrefix(String, String, int, int)}
+     */
+    @Deprecated
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT s FROM Student s WHERE s.firstName = :firstName AND s.lastName = :lastName")
     Student findByJPQLNamedParams(String firstName, String lastName);
 
+    /**
+     * @deprecated fails when several students share a name; use
+     * {@link #searchByNamePrefix(String, String, int, int)}
+     */
+    @Deprecated
+    // Native queries must declare the tables they read, or Hibernate never invalidates their cached results
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "students")
+    })
     @Query(value = "SELECT * FROM students s WHERE s.first_name = ?1 AND s.last_name = ?2", nativeQuery = true)
     Student findByNativeSQL(String firstName, String lastName);
 
+    /**
+     * @deprecated fails when several students share a name; use
+     * {@link #searchByNamePrefix(String, String, int, int)}
+     */
+    @Deprecated
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "students")
+    })
     @Query(value = "SELECT * FROM students s WHERE s.first_name = :firstName AND s.last_name = :lastName", nativeQuery = true)
     Student findByNativeSQLNamed(String firstName, String lastName);
 }
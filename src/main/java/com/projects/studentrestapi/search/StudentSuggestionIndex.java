@@ -0,0 +1,393 @@
+package com.projects.studentrestapi.search;
+
+import com.projects.studentrestapi.dto.StudentSuggestion;
+import com.projects.studentrestapi.entity.Student;
+import com.projects.studentrestapi.event.StudentChangedEvent;
+import com.projects.studentrestapi.event.StudentsImportedEvent;
+import com.projects.studentrestapi.repository.StudentRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * In-memory prefix index over the first name, last name and email of every student, for autocomplete.
+ * <p>
+ * The bulk of the index is an immutable {@link Snapshot}: the students in parallel arrays and one {@code int} per
+ * term, sorted case-insensitively, so a lookup is a binary search followed by a short in-order walk, without
+ * touching the database. Besides the strings themselves each student costs about 32 bytes. Writes go to a small
+ * map of changes that overrides the snapshot, and are folded into a new snapshot by a merge on a background thread
+ * once it grows past {@link #COMPACTION_THRESHOLD} entries.
+ * <p>
+ * The snapshot is built from a streaming scan on a background thread once the application is ready, so startup
+ * does not wait for it, and swapped in when complete. Local writes are applied from the student carried by their
+ * change event; changes made on other replicas arrive through {@link #refresh(Collection)}, and {@link #rebuild()}
+ * starts over from the table when notifications may have been missed.
+ */
+@Slf4j
+@Component
+public class StudentSuggestionIndex {
+
+    static final int COMPACTION_THRESHOLD = 1024;
+
+    // Marks a removed student in the map of changes
+    private static final StudentSuggestion REMOVED = new StudentSuggestion();
+
+    private static final Comparator<StudentSuggestion> ID_ORDER = Comparator.comparingLong(StudentSuggestion::getId);
+
+    private final StudentRepository studentRepository;
+
+    private final EntityManager entityManager;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    // One thread, so builds and compactions never race each other to replace the snapshot
+    private final ExecutorService builder = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "student-suggestion-index");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+
+    private final AtomicBoolean compactionQueued = new AtomicBoolean();
+
+    // Guards writes to the changes and the replacement of the state; readers only read the volatile field
+    private final Object writeLock = new Object();
+
+    private volatile State state = new State(Snapshot.EMPTY, new ConcurrentHashMap<>());
+
+    public StudentSuggestionIndex(StudentRepository studentRepository, EntityManager entityManager,
+                                  PlatformTransactionManager transactionManager) {
+        this.studentRepository = studentRepository;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * @return up to {@code limit} students with a name or email starting with {@code prefix} (case-insensitive),
+     * in term order
+     */
+    public List<StudentSuggestion> suggest(String prefix, int limit) {
+        String strippedPrefix = prefix.strip();
+        State current = state;
+        Snapshot snapshot = current.snapshot();
+        Map<Long, StudentSuggestion> changes = current.changes();
+        List<ChangedTerm> changedTerms = matchingChanges(changes, strippedPrefix);
+        Set<Long> seenIds = new HashSet<>();
+        List<StudentSuggestion> suggestions = new ArrayList<>(limit);
+        int term = snapshot.firstTermNotBefore(strippedPrefix);
+        int changedTerm = 0;
+        while (suggestions.size() < limit) {
+            boolean snapshotMatches = term < snapshot.terms.length
+                    && startsWithIgnoreCase(snapshot.text(term), strippedPrefix);
+            boolean changesMatch = changedTerm < changedTerms.size();
+            if (!snapshotMatches && !changesMatch) {
+                break;
+            }
+            if (snapshotMatches && (!changesMatch || compareTerms(snapshot.text(term), snapshot.id(term),
+                    changedTerms.get(changedTerm).text(), changedTerms.get(changedTerm).student().getId()) <= 0)) {
+                long id = snapshot.id(term);
+                // A changed student is served from the changes only
+                if (!changes.containsKey(id) && seenIds.add(id)) {
+                    suggestions.add(snapshot.suggestion(snapshot.terms[term] / Snapshot.FIELDS));
+                }
+                term++;
+            } else {
+                StudentSuggestion student = changedTerms.get(changedTerm++).student();
+                if (seenIds.add(student.getId())) {
+                    suggestions.add(student);
+                }
+            }
+        }
+        return suggestions;
+    }
+
+    /**
+     * Queues a rebuild of the index from the table. Requests made while one is queued share it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (rebuildQueued.compareAndSet(false, true)) {
+            builder.execute(() -> {
+                rebuildQueued.set(false);
+                build();
+            });
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        builder.shutdownNow();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentChanged(StudentChangedEvent event) {
+        if (event.getChangeType() == StudentChangedEvent.ChangeType.DELETED) {
+            write(event.getId(), REMOVED);
+        } else if (event.getStudent() != null) {
+            write(event.getId(), toSuggestion(event.getStudent()));
+        } else {
+            refresh(List.of(event.getId()));
+        }
+    }
+
+    // One scan of the table instead of a read per imported student
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentsImported(StudentsImportedEvent event) {
+        rebuild();
+    }
+
+    /**
+     * Re-reads students from the database, in one query, and updates or removes their entries.
+     */
+    public void refresh(Collection<Long> ids) {
+        Map<Long, Student> students = studentRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Student::getId, Function.identity()));
+        for (long id : ids) {
+            Student student = students.get(id);
+            write(id, student == null ? REMOVED : toSuggestion(student));
+        }
+    }
+
+    /**
+     * Scans the table into a new snapshot and swaps it in. Runs on the builder thread, or directly in tests.
+     */
+    void build() {
+        Map<Long, StudentSuggestion> changesBeforeScan = Map.copyOf(state.changes());
+        List<StudentSuggestion> students = new ArrayList<>();
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<Student> scan = studentRepository.streamAll()) {
+                scan.forEach(student -> {
+                    students.add(toSuggestion(student));
+                    entityManager.detach(student);
+                });
+            }
+        });
+        // The scan has seen every change made before it started; later ones stay in the changes
+        install(Snapshot.EMPTY.merge(students, Set.of()), changesBeforeScan);
+        log.info("Built student suggestion index with {} students", students.size());
+    }
+
+    /**
+     * Folds the changes into a new snapshot without reading the database.
+     */
+    void compact() {
+        State current = state;
+        Map<Long, StudentSuggestion> folded = Map.copyOf(current.changes());
+        List<StudentSuggestion> upserts = folded.values().stream()
+                .filter(student -> student != REMOVED)
+                .toList();
+        install(current.snapshot().merge(upserts, folded.keySet()), folded);
+    }
+
+    private void install(Snapshot snapshot, Map<Long, StudentSuggestion> folded) {
+        synchronized (writeLock) {
+            Map<Long, StudentSuggestion> remaining = new ConcurrentHashMap<>(state.changes());
+            // Entries replaced since they were folded are newer than the snapshot and stay
+            remaining.entrySet().removeIf(entry -> folded.get(entry.getKey()) == entry.getValue());
+            state = new State(snapshot, remaining);
+        }
+    }
+
+    private void write(long id, StudentSuggestion student) {
+        int pending;
+        synchronized (writeLock) {
+            Map<Long, StudentSuggestion> changes = state.changes();
+            changes.put(id, student);
+            pending = changes.size();
+        }
+        if (pending >= COMPACTION_THRESHOLD && compactionQueued.compareAndSet(false, true)) {
+            builder.execute(() -> {
+                compactionQueued.set(false);
+                compact();
+            });
+        }
+    }
+
+    private static List<ChangedTerm> matchingChanges(Map<Long, StudentSuggestion> changes, String prefix) {
+        List<ChangedTerm> matches = new ArrayList<>();
+        for (StudentSuggestion student : changes.values()) {
+            if (student == REMOVED) {
+                continue;
+            }
+            for (String text : Snapshot.texts(student)) {
+                if (text != null && !text.isBlank() && startsWithIgnoreCase(text, prefix)) {
+                    matches.add(new ChangedTerm(text, student));
+                }
+            }
+        }
+        matches.sort((left, right) -> compareTerms(left.text(), left.student().getId(),
+                right.text(), right.student().getId()));
+        return matches;
+    }
+
+    private static StudentSuggestion toSuggestion(Student student) {
+        return new StudentSuggestion(student.getId(), student.getFirstName(), student.getLastName(),
+                student.getEmail());
+    }
+
+    private static boolean startsWithIgnoreCase(String text, String prefix) {
+        return text.regionMatches(true, 0, prefix, 0, prefix.length());
+    }
+
+    private static int compareTerms(String leftText, long leftId, String rightText, long rightId) {
+        int order = String.CASE_INSENSITIVE_ORDER.compare(leftText, rightText);
+        return order != 0 ? order : Long.compare(leftId, rightId);
+    }
+
+    private record State(Snapshot snapshot, Map<Long, StudentSuggestion> changes) {
+    }
+
+    private record ChangedTerm(String text, StudentSuggestion student) {
+    }
+
+    /**
+     * Immutable sorted part of the index. Students are stored in id order: their ids in {@code ids} and their
+     * first name, last name and email at {@code index * FIELDS} onwards in {@code fields}. Each term is the
+     * position of a non-blank field in {@code fields}, and {@code terms} is sorted by the field's text
+     * (case-insensitive), then by id.
+     */
+    private static final class Snapshot {
+
+        static final int FIELDS = 3;
+
+        static final Snapshot EMPTY = new Snapshot(new long[0], new String[0], new int[0]);
+
+        final long[] ids;
+
+        final String[] fields;
+
+        final int[] terms;
+
+        Snapshot(long[] ids, String[] fields, int[] terms) {
+            this.ids = ids;
+            this.fields = fields;
+            this.terms = terms;
+        }
+
+        String text(int term) {
+            return fields[terms[term]];
+        }
+
+        long id(int term) {
+            return ids[terms[term] / FIELDS];
+        }
+
+        StudentSuggestion suggestion(int student) {
+            int field = student * FIELDS;
+            return new StudentSuggestion(ids[student], fields[field], fields[field + 1], fields[field + 2]);
+        }
+
+        /**
+         * @return the position of the first term not sorting before {@code prefix}
+         */
+        int firstTermNotBefore(String prefix) {
+            int low = 0;
+            int high = terms.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (String.CASE_INSENSITIVE_ORDER.compare(text(middle), prefix) < 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * @return a snapshot without the students in {@code replacedIds} and with {@code upserts}, built by a
+         * linear merge plus a sort of the new terms only
+         */
+        Snapshot merge(Collection<StudentSuggestion> upserts, Set<Long> replacedIds) {
+            List<StudentSuggestion> added = upserts.stream().sorted(ID_ORDER).toList();
+            long[] mergedIds = new long[ids.length + added.size()];
+            String[] mergedFields = new String[mergedIds.length * FIELDS];
+            int[] keptAt = new int[ids.length];
+            int[] addedAt = new int[added.size()];
+            int count = 0;
+            int kept = 0;
+            int next = 0;
+            while (kept < ids.length || next < added.size()) {
+                if (next == added.size() || (kept < ids.length && ids[kept] < added.get(next).getId())) {
+                    if (replacedIds.contains(ids[kept])) {
+                        keptAt[kept++] = -1;
+                        continue;
+                    }
+                    mergedIds[count] = ids[kept];
+                    System.arraycopy(fields, kept * FIELDS, mergedFields, count * FIELDS, FIELDS);
+                    keptAt[kept++] = count++;
+                } else {
+                    StudentSuggestion student = added.get(next);
+                    mergedIds[count] = student.getId();
+                    String[] texts = texts(student);
+                    System.arraycopy(texts, 0, mergedFields, count * FIELDS, FIELDS);
+                    addedAt[next++] = count++;
+                }
+            }
+            Snapshot merged = new Snapshot(Arrays.copyOf(mergedIds, count),
+                    Arrays.copyOf(mergedFields, count * FIELDS), null);
+
+            int[] keptTerms = Arrays.stream(terms)
+                    .filter(term -> keptAt[term / FIELDS] >= 0)
+                    .map(term -> keptAt[term / FIELDS] * FIELDS + term % FIELDS)
+                    .toArray();
+            int[] addedTerms = IntStream.range(0, added.size())
+                    .flatMap(student -> IntStream.range(0, FIELDS).map(field -> addedAt[student] * FIELDS + field))
+                    .filter(term -> merged.fields[term] != null && !merged.fields[term].isBlank())
+                    .boxed()
+                    .sorted(merged::compareTerms)
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+            return new Snapshot(merged.ids, merged.fields, merged.mergeTerms(keptTerms, addedTerms));
+        }
+
+        private int[] mergeTerms(int[] left, int[] right) {
+            int[] merged = new int[left.length + right.length];
+            int leftAt = 0;
+            int rightAt = 0;
+            for (int at = 0; at < merged.length; at++) {
+                if (rightAt == right.length
+                        || (leftAt < left.length && compareTerms(left[leftAt], right[rightAt]) <= 0)) {
+                    merged[at] = left[leftAt++];
+                } else {
+                    merged[at] = right[rightAt++];
+                }
+            }
+            return merged;
+        }
+
+        private int compareTerms(int left, int right) {
+            return StudentSuggestionIndex.compareTerms(fields[left], ids[left / FIELDS],
+                    fields[right], ids[right / FIELDS]);
+        }
+
+        static String[] texts(StudentSuggestion student) {
+            return new String[]{student.getFirstName(), student.getLastName(), student.getEmail()};
+        }
+    }
+}
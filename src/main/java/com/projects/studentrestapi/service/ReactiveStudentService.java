@@ -0,0 +1,33 @@
+package com.projects.studentrestapi.service;
+
+import com.projects.studentrestapi.dto.StudentField;
+import com.projects.studentrestapi.dto.StudentPageResponse;
+import com.projects.studentrestapi.entity.Student;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Set;
+
+/**
+ * Non-blocking counterpart of the core of {@link StudentService}, for the reactive profile.
+ */
+public interface ReactiveStudentService {
+
+    Mono<Student> saveStudent(Student student);
+
+    Mono<StudentPageResponse> getStudents(String after, int limit, Set<StudentField> fields);
+
+    Flux<Student> exportStudents();
+
+    /**
+     * @return the student, or empty when it does not exist
+     */
+    Mono<Student> getStudentById(long id);
+
+    /**
+     * @return the updated student, or empty when it does not exist
+     */
+    Mono<Student> updateStudent(long id, Student student);
+
+    Mono<Void> deleteStudentById(long id);
+}
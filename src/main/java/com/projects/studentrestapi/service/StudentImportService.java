@@ -0,0 +1,16 @@
+package com.projects.studentrestapi.service;
+
+import com.projects.studentrestapi.dto.StudentImportStatus;
+import org.springframework.web.multipart.MultipartFile;
+
+public interface StudentImportService {
+
+    /**
+     * Saves the CSV file and queues its import.
+     *
+     * @return the queued job, whose id is polled with {@link #getImport(String)}
+     */
+    StudentImportStatus startImport(MultipartFile file);
+
+    StudentImportStatus getImport(String id);
+}
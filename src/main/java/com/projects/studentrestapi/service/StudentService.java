@@ -1,20 +1,60 @@
 package com.projects.studentrestapi.service;
 
+import com.projects.studentrestapi.dto.StudentField;
+import com.projects.studentrestapi.dto.StudentLookupResponse;
+import com.projects.studentrestapi.dto.StudentPageResponse;
+import com.projects.studentrestapi.dto.StudentPatchRequest;
+import com.projects.studentrestapi.dto.StudentSearchResponse;
+import com.projects.studentrestapi.dto.StudentSuggestion;
 import com.projects.studentrestapi.entity.Student;
 
-import javax.swing.text.html.Option;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public interface StudentService {
 
     Student saveStudent(Student student);
 
+    List<Student> saveStudents(List<Student> students);
+
     List<Student> getAllStudents();
 
+    /**
+     * @return the page, along with the {@link #getStudentsVersionTag} of the rows it was read from
+     */
+    StudentPageResponse getStudents(String after, int limit, Set<StudentField> fields);
+
+    /**
+     * @return a tag that changes whenever the page {@link #getStudents} would return changes, computed from
+     * the ids and versions of its rows only
+     */
+    String getStudentsVersionTag(String after, int limit);
+
+    void exportStudents(Consumer<Student> consumer);
+
     Optional<Student> getStudentById(long id);
 
+    StudentSearchResponse searchStudents(String firstName, String lastName, int page, int size);
+
+    StudentSearchResponse searchStudents(String query, int page, int size);
+
+    List<StudentSuggestion> suggestStudents(String query, int limit);
+
+    StudentLookupResponse getStudentsByIds(Collection<Long> ids);
+
+    Student getStudentByEmail(String email);
+
     Student updateStudent(Student student);
 
+    /**
+     * @return the student's new version
+     */
+    long patchStudent(long id, StudentPatchRequest patch);
+
     void deleteStudentById(long id);
+
+    int deleteStudentsByIds(Collection<Long> ids);
 }
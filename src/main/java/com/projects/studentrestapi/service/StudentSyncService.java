@@ -0,0 +1,14 @@
+package com.projects.studentrestapi.service;
+
+import com.projects.studentrestapi.dto.StudentChangesResponse;
+
+public interface StudentSyncService {
+
+    /**
+     * Students created, updated or deleted since the watermark of an earlier response, oldest first.
+     * Without {@code since} the sync starts from the beginning: every student, then the changes from there on.
+     */
+    StudentChangesResponse getChanges(String since, int limit);
+
+    void purgeTombstones();
+}
@@ -0,0 +1,124 @@
+package com.projects.studentrestapi.service.impl;
+
+import com.projects.studentrestapi.dto.StudentDto;
+import com.projects.studentrestapi.dto.StudentField;
+import com.projects.studentrestapi.dto.StudentPageResponse;
+import com.projects.studentrestapi.entity.Student;
+import com.projects.studentrestapi.event.StudentChangedEvent;
+import com.projects.studentrestapi.event.StudentChangedEvent.ChangeType;
+import com.projects.studentrestapi.exception.InvalidRequestException;
+import com.projects.studentrestapi.exception.UserAlreadyExistsException;
+import com.projects.studentrestapi.mapper.StudentMapper;
+import com.projects.studentrestapi.repository.ReactiveStudentRepository;
+import com.projects.studentrestapi.service.ReactiveStudentService;
+import com.projects.studentrestapi.util.KeysetCursor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reads go straight to the database: the read-through caches of the servlet stack load through JDBC and would
+ * block. Writes publish the same change events as {@link StudentServiceImpl}, so the caches and change feeds
+ * shared with the rest of the application stay coherent.
+ */
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveStudentServiceImpl implements ReactiveStudentService {
+
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private static final int EXPORT_FETCH_SIZE = 500;
+
+    private final ReactiveStudentRepository studentRepository;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final StudentMapper studentMapper;
+
+    @Override
+    public Mono<Student> saveStudent(Student student) {
+        return studentRepository.insertIfEmailAbsent(student.getFirstName(), student.getLastName(), student.getEmail())
+                .switchIfEmpty(Mono.error(() ->
+                        new UserAlreadyExistsException("Student already exist with email: " + student.getEmail())))
+                .flatMap(savedStudent -> publishChange(savedStudent, ChangeType.CREATED).thenReturn(savedStudent));
+    }
+
+    @Override
+    public Mono<StudentPageResponse> getStudents(String after, int limit, Set<StudentField> fields) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return Mono.error(new InvalidRequestException("Limit must be between 1 and " + MAX_PAGE_SIZE));
+        }
+        long afterId;
+        try {
+            afterId = after == null ? 0L : KeysetCursor.decode(after);
+        } catch (InvalidRequestException exception) {
+            return Mono.error(exception);
+        }
+        // Fetch one extra row to learn whether another page exists without a COUNT query
+        return studentRepository.findPage(afterId, limit + 1)
+                .collectList()
+                .map(students -> {
+                    String nextCursor = null;
+                    if (students.size() > limit) {
+                        students = students.subList(0, limit);
+                        nextCursor = KeysetCursor.encode(students.get(limit - 1).getId());
+                    }
+                    List<StudentDto> page = students.stream()
+                            .map(student -> studentMapper.toDto(student, fields))
+                            .toList();
+                    return new StudentPageResponse(page, nextCursor);
+                });
+    }
+
+    @Override
+    public Flux<Student> exportStudents() {
+        return studentRepository.streamAll(EXPORT_FETCH_SIZE);
+    }
+
+    @Override
+    public Mono<Student> getStudentById(long id) {
+        return studentRepository.findById(id);
+    }
+
+    @Override
+    public Mono<Student> updateStudent(long id, Student student) {
+        return studentRepository.update(id, student.getFirstName(), student.getLastName(), student.getEmail())
+                .onErrorMap(DataIntegrityViolationException.class, exception ->
+                        new UserAlreadyExistsException("Student already exist with email: " + student.getEmail()))
+                .flatMap(updatedStudent -> publishChange(updatedStudent, ChangeType.UPDATED).thenReturn(updatedStudent));
+    }
+
+    @Override
+    public Mono<Void> deleteStudentById(long id) {
+        // Deleting a missing student succeeds, as on the servlet stack
+        return studentRepository.deleteById(id)
+                .flatMap(deleted -> deleted ? publishChange(id, ChangeType.DELETED) : Mono.empty());
+    }
+
+    /**
+     * Listeners run immediately (there is no transaction) and some of them block, so they are kept off the
+     * event loop.
+     */
+    private Mono<Void> publishChange(long id, ChangeType changeType) {
+        return publishEvent(new StudentChangedEvent(id, changeType));
+    }
+
+    private Mono<Void> publishChange(Student student, ChangeType changeType) {
+        return publishEvent(new StudentChangedEvent(student.getId(), changeType, student));
+    }
+
+    private Mono<Void> publishEvent(StudentChangedEvent event) {
+        return Mono.fromRunnable(() -> eventPublisher.publishEvent(event))
+                .subscribeOn(Schedulers.boundedElastic())
+                .then();
+    }
+}
@@ -0,0 +1,197 @@
+package com.projects.studentrestapi.service.impl;
+
+import com.projects.studentrestapi.entity.Student;
+import com.projects.studentrestapi.exception.UserAlreadyExistsException;
+import com.projects.studentrestapi.repository.StudentRepository;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Group commit for single-student creates (enabled with {@code student.write-coalescing.enabled}).
+ * <p>
+ * Callers queue their student and wait. Writer threads take the first queued student, gather whatever else
+ * arrives within {@code max-wait} (up to {@code max-batch-size}), and insert the batch with one statement in one
+ * transaction (see {@link StudentRepository#insertAllIfEmailAbsent}), so a burst of creates shares a commit and a
+ * round trip. While a batch is being written the next one fills up, so batches grow with the load and a lone
+ * create only pays the wait.
+ * <p>
+ * Each caller gets its own outcome: its saved student, or a {@link UserAlreadyExistsException} when its email is
+ * taken (including by an earlier caller in the same batch). When the batch statement fails as a whole, its
+ * students are retried one by one, so one bad row does not fail the others.
+ */
+@Slf4j
+@Component
+public class StudentCreateCoalescer {
+
+    private final StudentRepository studentRepository;
+
+    private final boolean enabled;
+
+    private final int maxBatchSize;
+
+    private final long maxWaitNanos;
+
+    private final BlockingQueue<PendingCreate> queue = new LinkedBlockingQueue<>();
+
+    private final ExecutorService writers;
+
+    public StudentCreateCoalescer(StudentRepository studentRepository,
+                                  @Value("${student.write-coalescing.enabled:false}") boolean enabled,
+                                  @Value("${student.write-coalescing.max-batch-size:100}") int maxBatchSize,
+                                  @Value("${student.write-coalescing.max-wait:2ms}") Duration maxWait,
+                                  @Value("${student.write-coalescing.writers:2}") int writers) {
+        this.studentRepository = studentRepository;
+        this.enabled = enabled;
+        this.maxBatchSize = maxBatchSize;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.writers = Executors.newFixedThreadPool(writers, runnable -> {
+            Thread thread = new Thread(runnable, "student-create-coalescer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (enabled) {
+            for (int i = 0; i < writers; i++) {
+                this.writers.execute(this::writeBatches);
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Blocks until the batch holding {@code student} has committed.
+     *
+     * @return the saved student
+     * @throws UserAlreadyExistsException when the email is already taken
+     */
+    public Student create(Student student) {
+        PendingCreate pending = new PendingCreate(student, new CompletableFuture<>());
+        queue.add(pending);
+        try {
+            return pending.result().join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw exception;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writers.shutdownNow();
+        List<PendingCreate> abandoned = new ArrayList<>();
+        queue.drainTo(abandoned);
+        abandoned.forEach(pending -> pending.result().completeExceptionally(
+                new IllegalStateException("Shutting down")));
+    }
+
+    private void writeBatches() {
+        List<PendingCreate> batch = new ArrayList<>(maxBatchSize);
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                batch.add(queue.take());
+                long deadline = System.nanoTime() + maxWaitNanos;
+                while (batch.size() < maxBatchSize) {
+                    PendingCreate next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                Metrics.summary("students.create.batch.size").record(batch.size());
+                try {
+                    write(batch);
+                } catch (RuntimeException exception) {
+                    // Keeps the writer alive; callers already completed ignore this
+                    batch.forEach(pending -> pending.result().completeExceptionally(exception));
+                }
+                batch.clear();
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        } finally {
+            batch.forEach(pending -> pending.result().completeExceptionally(
+                    new IllegalStateException("Shutting down")));
+        }
+    }
+
+    void write(List<PendingCreate> batch) {
+        // Of callers sharing an email, the first one gets to insert it
+        Map<String, PendingCreate> byEmail = new HashMap<>();
+        List<PendingCreate> distinct = new ArrayList<>(batch.size());
+        for (PendingCreate pending : batch) {
+            if (pending.student().getEmail() == null) {
+                // Fails on its own, with the same error as a direct create
+                writeOne(pending);
+            } else if (byEmail.putIfAbsent(emailKey(pending.student()), pending) == null) {
+                distinct.add(pending);
+            } else {
+                pending.result().completeExceptionally(alreadyExists(pending.student()));
+            }
+        }
+        if (distinct.size() == 1) {
+            writeOne(distinct.get(0));
+            return;
+        }
+        if (distinct.isEmpty()) {
+            return;
+        }
+        List<Student> inserted;
+        try {
+            inserted = studentRepository.insertAllIfEmailAbsent(distinct.stream().map(PendingCreate::student).toList());
+        } catch (RuntimeException exception) {
+            log.debug("Batched student create failed, retrying {} students one by one", distinct.size(), exception);
+            distinct.forEach(this::writeOne);
+            return;
+        }
+        for (Student student : inserted) {
+            byEmail.remove(emailKey(student)).result().complete(student);
+        }
+        // Whatever was not inserted lost to an existing student
+        byEmail.values().forEach(pending -> pending.result().completeExceptionally(alreadyExists(pending.student())));
+    }
+
+    private void writeOne(PendingCreate pending) {
+        try {
+            List<Student> inserted = studentRepository.insertAllIfEmailAbsent(List.of(pending.student()));
+            if (inserted.isEmpty()) {
+                pending.result().completeExceptionally(alreadyExists(pending.student()));
+            } else {
+                pending.result().complete(inserted.get(0));
+            }
+        } catch (RuntimeException exception) {
+            pending.result().completeExceptionally(exception);
+        }
+    }
+
+    private static String emailKey(Student student) {
+        return student.getEmail().toLowerCase(Locale.ROOT);
+    }
+
+    private static UserAlreadyExistsException alreadyExists(Student student) {
+        return new UserAlreadyExistsException("Student already exist with email: " + student.getEmail());
+    }
+
+    record PendingCreate(Student student, CompletableFuture<Student> result) {
+    }
+}
@@ -0,0 +1,68 @@
+package com.projects.studentrestapi.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.projects.studentrestapi.dto.StudentImportStatus;
+import com.projects.studentrestapi.exception.InvalidRequestException;
+import com.projects.studentrestapi.exception.ResourceNotFoundException;
+import com.projects.studentrestapi.imports.StudentCsvImporter;
+import com.projects.studentrestapi.imports.StudentImportJob;
+import com.projects.studentrestapi.service.StudentImportService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Jobs are kept in memory, on the node that received the upload, until they have not been polled for
+ * {@code student.import.job-retention}.
+ */
+@Service
+public class StudentImportServiceImpl implements StudentImportService {
+
+    private final StudentCsvImporter studentCsvImporter;
+
+    private final Cache<String, StudentImportJob> jobs;
+
+    public StudentImportServiceImpl(StudentCsvImporter studentCsvImporter,
+                                    @Value("${student.import.job-retention:24h}") Duration jobRetention) {
+        this.studentCsvImporter = studentCsvImporter;
+        this.jobs = Caffeine.newBuilder()
+                .expireAfterAccess(jobRetention)
+                .build();
+    }
+
+    @Override
+    public StudentImportStatus startImport(MultipartFile file) {
+        if (file.isEmpty()) {
+            throw new InvalidRequestException("The file is empty");
+        }
+        StudentImportJob job = new StudentImportJob(UUID.randomUUID().toString());
+        Path path;
+        try {
+            // The upload only lives as long as the request, so the job gets its own copy
+            path = Files.createTempFile("student-import-", ".csv");
+            file.transferTo(path);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+        jobs.put(job.getId(), job);
+        studentCsvImporter.submit(job, path);
+        return job.toStatus();
+    }
+
+    @Override
+    public StudentImportStatus getImport(String id) {
+        StudentImportJob job = jobs.getIfPresent(id);
+        if (job == null) {
+            throw new ResourceNotFoundException("Import not found");
+        }
+        return job.toStatus();
+    }
+}
@@ -1,49 +1,351 @@
 package com.projects.studentrestapi.service.impl;
 
+import com.projects.studentrestapi.cache.StudentCache;
+import com.projects.studentrestapi.dto.StudentDto;
+import com.projects.studentrestapi.dto.StudentField;
+import com.projects.studentrestapi.dto.StudentLookupResponse;
+import com.projects.studentrestapi.dto.StudentPageResponse;
+import com.projects.studentrestapi.dto.StudentPatchRequest;
+import com.projects.studentrestapi.dto.StudentSearchResponse;
+import com.projects.studentrestapi.dto.StudentSuggestion;
 import com.projects.studentrestapi.entity.Student;
+import com.projects.studentrestapi.event.StudentChangedEvent;
+import com.projects.studentrestapi.event.StudentChangedEvent.ChangeType;
+import com.projects.studentrestapi.exception.InvalidRequestException;
 import com.projects.studentrestapi.exception.ResourceNotFoundException;
 import com.projects.studentrestapi.exception.UserAlreadyExistsException;
+import com.projects.studentrestapi.exception.VersionConflictException;
+import com.projects.studentrestapi.mapper.StudentMapper;
 import com.projects.studentrestapi.repository.StudentRepository;
+import com.projects.studentrestapi.search.StudentSuggestionIndex;
 import com.projects.studentrestapi.service.StudentService;
+import com.projects.studentrestapi.util.KeysetCursor;
+import com.projects.studentrestapi.util.SingleFlight;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class StudentServiceImpl implements StudentService {
 
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private static final int MAX_BATCH_SIZE = 1000;
+
+    private static final int MAX_DELETE_SIZE = 100_000;
+
+    private static final int DELETE_CHUNK_SIZE = 1000;
+
+    private static final int MAX_SUGGESTIONS = 50;
+
+    private static final int MAX_SEARCH_RESULTS = 10_000;
+
     private final StudentRepository studentRepository;
 
+    private final EntityManager entityManager;
+
+    private final StudentCache studentCache;
+
+    private final StudentSuggestionIndex suggestionIndex;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final StudentMapper studentMapper;
+
+    private final StudentCreateCoalescer createCoalescer;
+
+    // Lookups by id are already coalesced by StudentCache, which loads each key once
+    private final SingleFlight<String, Optional<Student>> emailLookups = new SingleFlight<>();
+
     @Override
     public Student saveStudent(Student student) {
-        Optional<Student> findStudent = studentRepository.findByEmail(student.getEmail());
-        if (findStudent.isPresent()) {
-            throw new UserAlreadyExistsException("Student already exist with email: " + student.getEmail());
+        if (createCoalescer.isEnabled()) {
+            Student savedStudent = createCoalescer.create(student);
+            publishChange(savedStudent, ChangeType.CREATED);
+            return savedStudent;
+        }
+        Student savedStudent = studentRepository.insertIfEmailAbsent(student.getFirstName(), student.getLastName(),
+                        student.getEmail())
+                .orElseThrow(() -> new UserAlreadyExistsException("Student already exist with email: " + student.getEmail()));
+        publishChange(savedStudent, ChangeType.CREATED);
+        return savedStudent;
+    }
+
+    @Override
+    @Transactional(timeout = Student.WRITE_TIMEOUT_SECONDS)
+    public List<Student> saveStudents(List<Student> students) {
+        if (students.isEmpty() || students.size() > MAX_BATCH_SIZE) {
+            throw new InvalidRequestException("Batch size must be between 1 and " + MAX_BATCH_SIZE);
+        }
+        Set<String> emails = new HashSet<>();
+        for (Student student : students) {
+            if (!emails.add(student.getEmail().toLowerCase(Locale.ROOT))) {
+                throw new UserAlreadyExistsException("Duplicate email in batch: " + student.getEmail());
+            }
+        }
+        List<String> existingEmails = studentRepository.findExistingEmails(emails);
+        if (!existingEmails.isEmpty()) {
+            throw new UserAlreadyExistsException("Student already exist with email: " + String.join(", ", existingEmails));
+        }
+        List<Student> savedStudents;
+        try {
+            // Inserts are sent as JDBC batches (see hibernate.jdbc.batch_size in application.yml)
+            savedStudents = studentRepository.saveAllAndFlush(students);
+        } catch (DataIntegrityViolationException exception) {
+            // Lost a race with a concurrent create of one of the emails
+            throw new UserAlreadyExistsException("Student already exist with one of the emails in the batch");
         }
-        return studentRepository.save(student);
+        savedStudents.forEach(savedStudent -> publishChange(savedStudent, ChangeType.CREATED));
+        return savedStudents;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Student> getAllStudents() {
         return studentRepository.findAll();
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public StudentPageResponse getStudents(String after, int limit, Set<StudentField> fields) {
+        long afterId = pageStart(after, limit);
+
+        // The id and version are always selected: the next cursor and the version tag are built from them
+        Set<StudentField> selectedFields = EnumSet.copyOf(fields);
+        selectedFields.add(StudentField.ID);
+        selectedFields.add(StudentField.VERSION);
+        // Fetch one extra row to learn whether another page exists without a COUNT query
+        List<StudentDto> students = studentRepository.findPage(afterId, limit + 1, selectedFields);
+        String versionTag = versionTag(students);
+        String nextCursor = null;
+        if (students.size() > limit) {
+            students = students.subList(0, limit);
+            nextCursor = KeysetCursor.encode(students.get(limit - 1).getId());
+        }
+        students.forEach(student -> student.retainOnly(fields));
+        return new StudentPageResponse(students, nextCursor, versionTag);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getStudentsVersionTag(String after, int limit) {
+        long afterId = pageStart(after, limit);
+        // Same rows as getStudents(), including the look-ahead row, but only their ids and versions
+        return versionTag(studentRepository.findPage(afterId, limit + 1,
+                EnumSet.of(StudentField.ID, StudentField.VERSION)));
+    }
+
+    private static String versionTag(List<StudentDto> versions) {
+        ByteBuffer buffer = ByteBuffer.allocate(versions.size() * 2 * Long.BYTES);
+        versions.forEach(student -> buffer.putLong(student.getId()).putLong(student.getVersion()));
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(buffer.array());
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportStudents(Consumer<Student> consumer) {
+        try (Stream<Student> students = studentRepository.streamAll()) {
+            students.forEach(student -> {
+                consumer.accept(student);
+                // Keep the persistence context from growing with the table
+                entityManager.detach(student);
+            });
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public Optional<Student> getStudentById(long id) {
-        return Optional.ofNullable(studentRepository.findById(id)
+        return Optional.ofNullable(studentCache.get(id, studentRepository::findById)
                 .orElseThrow(ResourceNotFoundException::new));
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public StudentSearchResponse searchStudents(String firstName, String lastName, int page, int size) {
+        if ((firstName == null || firstName.isBlank()) && (lastName == null || lastName.isBlank())) {
+            throw new InvalidRequestException("First name or last name is required");
+        }
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new InvalidRequestException("Page must not be negative and size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        // Fetch one extra row to learn whether another page exists without a COUNT query
+        List<Student> students = studentRepository.searchByNamePrefix(lastName == null ? "" : lastName.strip(),
+                firstName == null ? "" : firstName.strip(), page * size, size + 1);
+        if (students.size() <= size) {
+            return new StudentSearchResponse(studentMapper.toDtos(students), page, false);
+        }
+        return new StudentSearchResponse(studentMapper.toDtos(students.subList(0, size)), page, true);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public StudentSearchResponse searchStudents(String query, int page, int size) {
+        if (query == null || query.isBlank()) {
+            throw new InvalidRequestException("Query is required");
+        }
+        // Ranked results can only be paged by offset, so deep pages are refused rather than made slow
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE || (long) (page + 1) * size > MAX_SEARCH_RESULTS) {
+            throw new InvalidRequestException("Size must be between 1 and " + MAX_PAGE_SIZE
+                    + " and pages must stay within the first " + MAX_SEARCH_RESULTS + " results");
+        }
+        // Fetch one extra row to learn whether another page exists without a COUNT query
+        List<Student> students = studentRepository.searchFullText(query.strip(), page * size, size + 1);
+        if (students.size() <= size) {
+            return new StudentSearchResponse(studentMapper.toDtos(students), page, false);
+        }
+        return new StudentSearchResponse(studentMapper.toDtos(students.subList(0, size)), page, true);
+    }
+
+    @Override
+    public List<StudentSuggestion> suggestStudents(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new InvalidRequestException("Query is required");
+        }
+        if (limit < 1 || limit > MAX_SUGGESTIONS) {
+            throw new InvalidRequestException("Limit must be between 1 and " + MAX_SUGGESTIONS);
+        }
+        return suggestionIndex.suggest(query, limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public StudentLookupResponse getStudentsByIds(Collection<Long> ids) {
+        if (ids.isEmpty() || ids.size() > MAX_BATCH_SIZE) {
+            throw new InvalidRequestException("Number of ids must be between 1 and " + MAX_BATCH_SIZE);
+        }
+        Set<Long> requestedIds = new LinkedHashSet<>(ids);
+        // Cache misses are resolved together with one IN query
+        Map<Long, Student> foundStudents = studentCache.getAll(requestedIds, studentRepository::findAllById);
+        List<StudentDto> students = new ArrayList<>(foundStudents.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : requestedIds) {
+            Student student = foundStudents.get(id);
+            if (student != null) {
+                students.add(studentMapper.toDto(student));
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new StudentLookupResponse(students, missingIds);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Student getStudentByEmail(String email) {
+        return emailLookups.execute(email, studentRepository::findByEmail)
+                // Concurrent callers share the loaded instance, so each gets its own copy
+                .map(student -> student.toBuilder().build())
+                .orElseThrow(ResourceNotFoundException::new);
+    }
+
     @Override
     public Student updateStudent(Student student) {
-        return studentRepository.save(student);
+        Student updatedStudent;
+        try {
+            updatedStudent = studentRepository.saveAndFlush(student);
+        } catch (DataIntegrityViolationException exception) {
+            throw new UserAlreadyExistsException("Student already exist with email: " + student.getEmail());
+        } catch (ObjectOptimisticLockingFailureException exception) {
+            throw new VersionConflictException();
+        }
+        publishChange(updatedStudent, ChangeType.UPDATED);
+        return updatedStudent;
+    }
+
+    @Override
+    public long patchStudent(long id, StudentPatchRequest patch) {
+        if (patch.getVersion() == null) {
+            throw new InvalidRequestException("Version is required");
+        }
+        if (patch.getFirstName() == null && patch.getLastName() == null && patch.getEmail() == null) {
+            throw new InvalidRequestException("At least one field must be changed");
+        }
+        int updated;
+        try {
+            updated = studentRepository.updateFields(id, patch.getVersion(), patch.getFirstName(),
+                    patch.getLastName(), patch.getEmail());
+        } catch (DataIntegrityViolationException exception) {
+            throw new UserAlreadyExistsException("Student already exist with email: " + patch.getEmail());
+        }
+        if (updated == 0) {
+            // Only the failure path pays for telling a missing student from a stale version
+            if (studentRepository.existsById(id)) {
+                throw new VersionConflictException();
+            }
+            throw new ResourceNotFoundException();
+        }
+        publishChange(id, ChangeType.UPDATED);
+        // The update matched the expected version and bumped it by one
+        return patch.getVersion() + 1;
     }
 
     @Override
     public void deleteStudentById(long id) {
-        studentRepository.deleteById(id);
+        // Same statement as bulk deletes, so the delete leaves a tombstone for sync clients
+        studentRepository.deleteByIds(List.of(id)).forEach(deletedId -> publishChange(deletedId, ChangeType.DELETED));
+    }
+
+    @Override
+    public int deleteStudentsByIds(Collection<Long> ids) {
+        if (ids.isEmpty() || ids.size() > MAX_DELETE_SIZE) {
+            throw new InvalidRequestException("Number of ids must be between 1 and " + MAX_DELETE_SIZE);
+        }
+        List<Long> distinctIds = ids.stream().distinct().toList();
+        int deleted = 0;
+        for (int from = 0; from < distinctIds.size(); from += DELETE_CHUNK_SIZE) {
+            // Each chunk commits on its own, so a large purge never holds all of its row locks at once
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + DELETE_CHUNK_SIZE, distinctIds.size()));
+            List<Long> deletedIds = studentRepository.deleteByIds(chunk);
+            deletedIds.forEach(id -> publishChange(id, ChangeType.DELETED));
+            deleted += deletedIds.size();
+        }
+        return deleted;
+    }
+
+    /**
+     * Listeners run after commit when called inside a transaction, immediately otherwise
+     * (the repository call has already committed by then).
+     */
+    private void publishChange(long id, ChangeType changeType) {
+        eventPublisher.publishEvent(new StudentChangedEvent(id, changeType));
+    }
+
+    private void publishChange(Student student, ChangeType changeType) {
+        eventPublisher.publishEvent(new StudentChangedEvent(student.getId(), changeType, student));
+    }
+
+    private static long pageStart(String after, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new InvalidRequestException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return after == null ? 0L : KeysetCursor.decode(after);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,137 @@
+package com.projects.studentrestapi.service.impl;
+
+import com.projects.studentrestapi.dto.StudentChange;
+import com.projects.studentrestapi.dto.StudentChangesResponse;
+import com.projects.studentrestapi.dto.StudentDto;
+import com.projects.studentrestapi.entity.Student;
+import com.projects.studentrestapi.exception.InvalidRequestException;
+import com.projects.studentrestapi.exception.SyncTokenExpiredException;
+import com.projects.studentrestapi.repository.StudentRepository;
+import com.projects.studentrestapi.service.StudentSyncService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Delta sync over the {@code (updated_at, id)} order of students and the tombstones of deleted ones.
+ * <p>
+ * A row is only handed out once it is older than the settle window. Timestamps are taken before commit, so
+ * a transaction can commit a row stamped earlier than rows another transaction has already committed; the
+ * window gives those rows time to become visible before the watermark moves past them. It must exceed the
+ * longest write transaction plus the clock skew between the application nodes and the database; write
+ * transactions time out after {@link Student#WRITE_TIMEOUT_SECONDS}, which the window is checked against.
+ */
+@Slf4j
+@Service
+public class StudentSyncServiceImpl implements StudentSyncService {
+
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private final StudentRepository studentRepository;
+
+    private final Duration settleWindow;
+
+    private final Duration tombstoneRetention;
+
+    public StudentSyncServiceImpl(StudentRepository studentRepository,
+                                  @Value("${student.sync.settle-window:5s}") Duration settleWindow,
+                                  @Value("${student.sync.tombstone-retention:30d}") Duration tombstoneRetention) {
+        if (settleWindow.compareTo(Duration.ofSeconds(Student.WRITE_TIMEOUT_SECONDS)) <= 0) {
+            throw new IllegalStateException("student.sync.settle-window must exceed the write transaction timeout of "
+                    + Student.WRITE_TIMEOUT_SECONDS + "s");
+        }
+        this.studentRepository = studentRepository;
+        this.settleWindow = settleWindow;
+        this.tombstoneRetention = tombstoneRetention;
+    }
+
+    @Override
+    public StudentChangesResponse getChanges(String since, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new InvalidRequestException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        Instant now = Instant.now();
+        Instant until = now.minus(settleWindow);
+        SyncToken token = since == null ? new SyncToken(Instant.EPOCH, 0L, until) : SyncToken.decode(since);
+        if (token.knownUntil().isBefore(now.minus(tombstoneRetention))) {
+            // Tombstones the client has not seen may have been purged
+            throw new SyncTokenExpiredException();
+        }
+
+        // Fetch one extra row to learn whether more changes are waiting without a COUNT query
+        List<StudentChange> changes = studentRepository.findChanges(token.changedAt(), token.afterId(), until,
+                token.deletedFrom(), limit + 1);
+        boolean hasMore = changes.size() > limit;
+        if (hasMore) {
+            changes = changes.subList(0, limit);
+        }
+        List<StudentDto> students = new ArrayList<>(changes.size());
+        List<Long> deletedIds = new ArrayList<>();
+        for (StudentChange change : changes) {
+            if (change.isDeleted()) {
+                deletedIds.add(change.getId());
+            } else {
+                students.add(change.getStudent());
+            }
+        }
+
+        SyncToken next;
+        if (hasMore) {
+            StudentChange last = changes.get(changes.size() - 1);
+            next = new SyncToken(last.getChangedAt(), last.getId(), token.deletedFrom());
+        } else {
+            // Caught up: everything before the settle window has been seen, so later polls start from there
+            next = new SyncToken(until, 0L, until);
+        }
+        return new StudentChangesResponse(students, deletedIds, next.encode(), hasMore);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${student.sync.purge-interval-ms:3600000}")
+    public void purgeTombstones() {
+        int purged = studentRepository.purgeTombstones(Instant.now().minus(tombstoneRetention));
+        if (purged > 0) {
+            log.info("Purged {} student tombstones older than {}", purged, tombstoneRetention);
+        }
+    }
+
+    /**
+     * Position of a client in the change order, plus the time from which it needs tombstones: a client syncing
+     * from the beginning never held the students deleted before it started, so their tombstones are skipped.
+     */
+    private record SyncToken(Instant changedAt, long afterId, Instant deletedFrom) {
+
+        /**
+         * @return the time up to which the client has seen every delete
+         */
+        Instant knownUntil() {
+            return changedAt.isAfter(deletedFrom) ? changedAt : deletedFrom;
+        }
+
+        String encode() {
+            String token = changedAt + "," + afterId + "," + deletedFrom;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(token.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static SyncToken decode(String token) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(",");
+                if (parts.length != 3) {
+                    throw new IllegalArgumentException();
+                }
+                return new SyncToken(Instant.parse(parts[0]), Long.parseLong(parts[1]), Instant.parse(parts[2]));
+            } catch (IllegalArgumentException | DateTimeParseException exception) {
+                throw new InvalidRequestException("Invalid sync token: " + token);
+            }
+        }
+    }
+}
@@ -0,0 +1,453 @@
+package com.projects.studentrestapi.stream;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projects.studentrestapi.event.StudentChangedEvent;
+import com.projects.studentrestapi.event.StudentsImportedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pushes committed student changes to Server-Sent Events subscribers.
+ * <p>
+ * Every change is numbered and encoded into an SSE frame once, kept in a ring buffer of the last {@code replay-size}
+ * changes, then offered to each subscriber's own bounded queue. Queues are drained to the emitters by a small
+ * dispatcher pool, so a publishing request never waits on a client. When a subscriber falls {@code buffer-size} events
+ * behind, the overflow policy applies: {@code DISCONNECT} closes its stream (the client reconnects with Last-Event-ID
+ * and is replayed from the ring buffer), {@code DROP_OLDEST} discards its oldest queued event.
+ * <p>
+ * Servlet writes block while the client's socket buffer is full, so a send that has not returned after
+ * {@code send-timeout} marks its subscriber as stalled: it is disconnected, and the pool gets an extra thread until the
+ * blocked send returns (at the latest when the container's socket write timeout fails it), so the other subscribers
+ * keep their {@code dispatch-threads}. Emitters are only ever completed by the thread that drains them, as completing
+ * one waits for a send in progress.
+ * <p>
+ * Event ids are {@code <feed epoch>-<sequence>}. A client resuming from an id this feed cannot replay (it is too
+ * old, or was issued by another replica or before a restart) gets a {@code resync} event and should catch up
+ * through {@code GET /changes}. Only writes made on this node are pushed.
+ */
+@Slf4j
+@Component
+public class StudentChangeFeed implements MeterBinder {
+
+    public enum OverflowPolicy {
+        DISCONNECT,
+        DROP_OLDEST
+    }
+
+    private static final FeedEvent HEARTBEAT = new FeedEvent(0L, SseEmitter.event().comment("heartbeat").build());
+
+    private static final String RESYNC_EVENT = "resync";
+
+    private static final FeedEvent RESYNC = new FeedEvent(0L, SseEmitter.event().name(RESYNC_EVENT).data("{}").build());
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    // Orders publishing, so every subscriber queue and the ring buffer see events in sequence order
+    private final ReentrantLock publishLock = new ReentrantLock();
+
+    private final FeedEvent[] replayBuffer;
+
+    private long lastSequence;
+
+    private final ObjectMapper objectMapper;
+
+    private final int maxSubscribers;
+
+    private final int bufferSize;
+
+    private final OverflowPolicy overflowPolicy;
+
+    private final Duration timeout;
+
+    private final long sendTimeoutNanos;
+
+    private final ThreadPoolExecutor dispatcher;
+
+    public StudentChangeFeed(ObjectMapper objectMapper,
+                             @Value("${student.stream.max-subscribers:10000}") int maxSubscribers,
+                             @Value("${student.stream.buffer-size:256}") int bufferSize,
+                             @Value("${student.stream.overflow-policy:disconnect}") OverflowPolicy overflowPolicy,
+                             @Value("${student.stream.replay-size:10000}") int replaySize,
+                             @Value("${student.stream.timeout:30m}") Duration timeout,
+                             @Value("${student.stream.dispatch-threads:4}") int dispatchThreads,
+                             @Value("${student.stream.send-timeout:5s}") Duration sendTimeout) {
+        this.objectMapper = objectMapper;
+        this.maxSubscribers = maxSubscribers;
+        this.bufferSize = bufferSize;
+        this.overflowPolicy = overflowPolicy;
+        this.timeout = timeout;
+        this.sendTimeoutNanos = sendTimeout.toNanos();
+        this.replayBuffer = new FeedEvent[replaySize];
+        this.dispatcher = new ThreadPoolExecutor(dispatchThreads, dispatchThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "student-change-feed");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * @param lastEventId the Last-Event-ID sent by a reconnecting client, or null for a new subscription
+     * @return the stream of changes, or empty when the feed is at its subscriber limit
+     */
+    public Optional<SseEmitter> subscribe(String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        return subscribe(emitter, lastEventId) ? Optional.of(emitter) : Optional.empty();
+    }
+
+    boolean subscribe(SseEmitter emitter, String lastEventId) {
+        Subscriber subscriber = new Subscriber(emitter);
+        publishLock.lock();
+        try {
+            if (subscribers.size() >= maxSubscribers) {
+                return false;
+            }
+            // Replayed under the publish lock, so nothing is missed or repeated between the replay and live events
+            if (lastEventId != null) {
+                long after = parseSequence(lastEventId);
+                long oldest = Math.max(1, lastSequence - replayBuffer.length + 1);
+                if (after < oldest - 1 || after > lastSequence) {
+                    subscriber.enqueue(RESYNC, true);
+                } else {
+                    for (long sequence = after + 1; sequence <= lastSequence; sequence++) {
+                        subscriber.enqueue(replayBuffer[slot(sequence)], true);
+                    }
+                }
+            }
+            subscribers.add(subscriber);
+        } finally {
+            publishLock.unlock();
+        }
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(exception -> subscribers.remove(subscriber));
+        return true;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentChanged(StudentChangedEvent event) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException exception) {
+            throw new UncheckedIOException(exception);
+        }
+        publish(null, json);
+    }
+
+    /**
+     * Imports are not pushed student by student: subscribers are told to catch up through {@code GET /changes}.
+     * The event is numbered like any other, so clients resuming from before it get it too.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentsImported(StudentsImportedEvent event) {
+        publish(RESYNC_EVENT, "{}");
+    }
+
+    private void publish(String eventName, String json) {
+        List<Subscriber> overflowed = new ArrayList<>();
+        publishLock.lock();
+        try {
+            long sequence = ++lastSequence;
+            SseEmitter.SseEventBuilder frame = SseEmitter.event().id(epoch + "-" + sequence);
+            if (eventName != null) {
+                frame.name(eventName);
+            }
+            FeedEvent feedEvent = new FeedEvent(sequence, frame.data(json).build());
+            replayBuffer[slot(feedEvent.sequence())] = feedEvent;
+            for (Subscriber subscriber : subscribers) {
+                if (!subscriber.enqueue(feedEvent, false)) {
+                    overflowed.add(subscriber);
+                }
+            }
+        } finally {
+            publishLock.unlock();
+        }
+        for (Subscriber subscriber : overflowed) {
+            Metrics.counter("students.stream.disconnects", "reason", "overflow").increment();
+            subscriber.close();
+        }
+    }
+
+    /**
+     * Keeps idle connections open through proxies, and finds clients that went away without closing.
+     */
+    @Scheduled(fixedDelayString = "${student.stream.heartbeat-interval-ms:15000}")
+    public void sendHeartbeats() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.enqueueHeartbeat();
+        }
+    }
+
+    /**
+     * Disconnects subscribers whose send has been blocked for longer than {@code send-timeout}.
+     */
+    @Scheduled(fixedDelayString = "${student.stream.send-check-interval-ms:1000}")
+    public void disconnectStalledSubscribers() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.markStalled(now)) {
+                Metrics.counter("students.stream.disconnects", "reason", "send_timeout").increment();
+                addDispatchThread();
+            }
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        for (Subscriber subscriber : subscribers) {
+            subscribers.remove(subscriber);
+            subscriber.emitter.complete();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("students.stream.subscribers", subscribers, Set::size)
+                .register(registry);
+    }
+
+    // Stands in for a thread blocked on a stalled subscriber
+    private void addDispatchThread() {
+        synchronized (dispatcher) {
+            dispatcher.setMaximumPoolSize(dispatcher.getMaximumPoolSize() + 1);
+            dispatcher.setCorePoolSize(dispatcher.getCorePoolSize() + 1);
+        }
+        dispatcher.prestartCoreThread();
+    }
+
+    private void removeDispatchThread() {
+        synchronized (dispatcher) {
+            dispatcher.setCorePoolSize(dispatcher.getCorePoolSize() - 1);
+            dispatcher.setMaximumPoolSize(dispatcher.getMaximumPoolSize() - 1);
+        }
+    }
+
+    private int slot(long sequence) {
+        return (int) (sequence % replayBuffer.length);
+    }
+
+    /**
+     * @return the sequence of an event id issued by this feed, or -1 for any other id
+     */
+    private long parseSequence(String eventId) {
+        int separator = eventId.lastIndexOf('-');
+        if (separator < 0 || !eventId.substring(0, separator).equals(epoch)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(eventId.substring(separator + 1));
+        } catch (NumberFormatException exception) {
+            return -1;
+        }
+    }
+
+    /**
+     * @param frame the encoded SSE event, shared by every subscriber it is sent to
+     */
+    private record FeedEvent(long sequence, Set<DataWithMediaType> frame) {
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+
+        private final Queue<FeedEvent> queue = new ArrayDeque<>();
+
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private boolean draining;
+
+        private boolean closed;
+
+        // Start of the send in progress, when sending
+        private long sendStartedAt;
+
+        private boolean sending;
+
+        // Whether a thread was added to the pool for the send in progress
+        private boolean stalled;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        /**
+         * @param force whether to bypass the buffer limit (replayed events are bounded by the ring buffer instead)
+         * @return false when the event overflowed the buffer and the subscriber must be disconnected
+         */
+        private boolean enqueue(FeedEvent event, boolean force) {
+            boolean startDraining;
+            lock.lock();
+            try {
+                if (closed) {
+                    return true;
+                }
+                if (!force && queue.size() >= bufferSize) {
+                    if (overflowPolicy == OverflowPolicy.DISCONNECT) {
+                        return false;
+                    }
+                    queue.poll();
+                    Metrics.counter("students.stream.events.dropped").increment();
+                }
+                queue.add(event);
+                startDraining = !draining;
+                draining = true;
+            } finally {
+                lock.unlock();
+            }
+            if (startDraining) {
+                dispatch();
+            }
+            return true;
+        }
+
+        private void enqueueHeartbeat() {
+            lock.lock();
+            try {
+                // Anything already queued proves the connection just as well
+                if (!queue.isEmpty()) {
+                    return;
+                }
+            } finally {
+                lock.unlock();
+            }
+            enqueue(HEARTBEAT, false);
+        }
+
+        /**
+         * Stops delivery; the emitter is completed by the draining thread.
+         */
+        private void close() {
+            subscribers.remove(this);
+            boolean startDraining;
+            lock.lock();
+            try {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                queue.clear();
+                startDraining = !draining;
+                draining = true;
+            } finally {
+                lock.unlock();
+            }
+            if (startDraining) {
+                dispatch();
+            }
+        }
+
+        /**
+         * @return whether the send in progress has just been found to be over the send timeout
+         */
+        private boolean markStalled(long now) {
+            lock.lock();
+            try {
+                if (!sending || stalled || now - sendStartedAt < sendTimeoutNanos) {
+                    return false;
+                }
+                stalled = true;
+                closed = true;
+                queue.clear();
+            } finally {
+                lock.unlock();
+            }
+            subscribers.remove(this);
+            return true;
+        }
+
+        private void dispatch() {
+            try {
+                dispatcher.execute(this::drain);
+            } catch (RejectedExecutionException exception) {
+                // Shutting down
+                subscribers.remove(this);
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                FeedEvent event;
+                lock.lock();
+                try {
+                    event = closed ? null : queue.poll();
+                    if (event == null) {
+                        draining = false;
+                        if (!closed) {
+                            return;
+                        }
+                    } else {
+                        sendStartedAt = System.nanoTime();
+                        sending = true;
+                    }
+                } finally {
+                    lock.unlock();
+                }
+                if (event == null) {
+                    emitter.complete();
+                    return;
+                }
+                try {
+                    emitter.send(event.frame());
+                } catch (IOException | IllegalStateException exception) {
+                    // The client went away; the emitter completes itself
+                    log.debug("Dropping student change feed subscriber", exception);
+                    subscribers.remove(this);
+                    finishSend();
+                    return;
+                }
+                finishSend();
+            }
+        }
+
+        private void finishSend() {
+            boolean wasStalled;
+            lock.lock();
+            try {
+                sending = false;
+                wasStalled = stalled;
+                stalled = false;
+            } finally {
+                lock.unlock();
+            }
+            if (wasStalled) {
+                removeDispatchThread();
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.projects.studentrestapi.util;
+
+import com.projects.studentrestapi.exception.InvalidRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque page cursors: the id of the last student of a page, which the next page seeks past.
+ */
+public final class KeysetCursor {
+
+    private KeysetCursor() {
+    }
+
+    public static String encode(long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(Long.toString(id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static long decode(String cursor) {
+        try {
+            return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException exception) {
+            throw new InvalidRequestException("Invalid cursor: " + cursor);
+        }
+    }
+}
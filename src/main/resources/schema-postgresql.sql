@@ -0,0 +1,33 @@
+-- Runs after Hibernate has created/updated the tables (spring.jpa.defer-datasource-initialization).
+-- Statements must be idempotent.
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_students_email_lower ON students (lower(email));
+
+-- Name prefix search (LIKE 'prefix%'). The "C" collation lets LIKE use the index whatever the database collation,
+-- and the searches compare and order by the same collation (see CustomStudentRepositoryImpl), so pages are read in
+-- index order without a sort. Replaces the text_pattern_ops indexes, which could not serve the ORDER BY.
+DROP INDEX IF EXISTS ix_students_last_name_first_name;
+DROP INDEX IF EXISTS ix_students_first_name;
+CREATE INDEX IF NOT EXISTS ix_students_last_name_first_name_c ON students (last_name COLLATE "C", first_name COLLATE "C", id);
+CREATE INDEX IF NOT EXISTS ix_students_first_name_c ON students (first_name COLLATE "C", id);
+
+-- Full-text search: prefix matching on the words of the names and email, plus trigram word similarity for typos.
+-- Both columns are generated by the database, so every write path keeps them current.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+ALTER TABLE students ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS (
+    to_tsvector('simple', coalesce(first_name, '') || ' ' || coalesce(last_name, '') || ' ' || coalesce(email, ''))) STORED;
+ALTER TABLE students ADD COLUMN IF NOT EXISTS search_text text GENERATED ALWAYS AS (
+    coalesce(first_name, '') || ' ' || coalesce(last_name, '') || ' ' || coalesce(email, '')) STORED;
+CREATE INDEX IF NOT EXISTS ix_students_search_vector ON students USING gin (search_vector);
+CREATE INDEX IF NOT EXISTS ix_students_search_text_trgm ON students USING gin (search_text gin_trgm_ops);
+
+-- Delta sync (GET /changes): rows are read in (updated_at, id) order past the client's watermark.
+CREATE INDEX IF NOT EXISTS ix_students_updated_at_id ON students (updated_at, id);
+
+-- One row per deleted student, written by the same statement as the delete, so sync clients learn about deletes.
+-- Rows older than student.sync.tombstone-retention are purged.
+CREATE TABLE IF NOT EXISTS student_tombstones (
+    id         bigint      PRIMARY KEY,
+    deleted_at timestamptz NOT NULL
+);
+CREATE INDEX IF NOT EXISTS ix_student_tombstones_deleted_at_id ON student_tombstones (deleted_at, id);
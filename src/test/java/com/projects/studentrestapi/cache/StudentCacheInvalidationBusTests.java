@@ -0,0 +1,179 @@
+package com.projects.studentrestapi.cache;
+
+import com.projects.studentrestapi.event.StudentChangedEvent;
+import com.projects.studentrestapi.event.StudentsImportedEvent;
+import com.projects.studentrestapi.search.StudentSuggestionIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class StudentCacheInvalidationBusTests {
+
+    @Mock
+    private StudentCache studentCache;
+
+    @Mock
+    private HibernateCacheEvictor hibernateCacheEvictor;
+
+    @Mock
+    private StudentSuggestionIndex suggestionIndex;
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private StudentCacheInvalidationBus invalidationBus;
+
+    @BeforeEach
+    public void setup() {
+        invalidationBus = new StudentCacheInvalidationBus(studentCache, hibernateCacheEvictor, suggestionIndex,
+                dataSource, jdbcTemplate, "students_test");
+    }
+
+    @DisplayName("JUnit test for publishPending() batching a burst of changes into one notification")
+    @Test
+    public void givenBurstOfChanges_whenPublishPending_thenSendOneNotification() {
+
+        // given
+        for (long id = 100; id < 110; id++) {
+            invalidationBus.onStudentChanged(new StudentChangedEvent(id, StudentChangedEvent.ChangeType.UPDATED));
+        }
+
+        // when
+        invalidationBus.publishPending();
+        invalidationBus.publishPending();
+
+        // then
+        ArgumentCaptor<String> payload = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, times(1)).queryForObject(eq("SELECT pg_notify(?, ?)"), eq(Object.class),
+                eq("students_test"), payload.capture());
+        assertThat(payload.getValue()).endsWith(":100,101,102,103,104,105,106,107,108,109");
+    }
+
+    @DisplayName("JUnit test for publishPending() splitting large bursts below the payload limit")
+    @Test
+    public void givenLargeBurstOfChanges_whenPublishPending_thenSplitNotifications() {
+
+        // given
+        for (long id = 1_000_000; id < 1_002_000; id++) {
+            invalidationBus.onStudentChanged(new StudentChangedEvent(id, StudentChangedEvent.ChangeType.DELETED));
+        }
+
+        // when
+        invalidationBus.publishPending();
+
+        // then
+        ArgumentCaptor<String> payload = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, atLeast(2)).queryForObject(eq("SELECT pg_notify(?, ?)"), eq(Object.class),
+                eq("students_test"), payload.capture());
+        assertThat(payload.getAllValues()).allSatisfy(value -> assertThat(value.length()).isLessThan(8000));
+    }
+
+    @DisplayName("JUnit test for publishPending() retrying the ids of a failed notification")
+    @Test
+    public void givenFailedNotification_whenPublishPendingAgain_thenResendIds() {
+
+        // given
+        invalidationBus.onStudentChanged(new StudentChangedEvent(100L, StudentChangedEvent.ChangeType.UPDATED));
+        invalidationBus.onStudentChanged(new StudentChangedEvent(101L, StudentChangedEvent.ChangeType.DELETED));
+        given(jdbcTemplate.queryForObject(any(String.class), eq(Object.class), any(), any()))
+                .willThrow(new QueryTimeoutException("timeout"))
+                .willReturn(null);
+        invalidationBus.publishPending();
+
+        // when
+        invalidationBus.publishPending();
+
+        // then
+        ArgumentCaptor<String> payload = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, times(2)).queryForObject(any(String.class), eq(Object.class), any(), payload.capture());
+        assertThat(payload.getAllValues().get(1)).endsWith(":100,101");
+    }
+
+    @DisplayName("JUnit test for handlePayload() evicting ids sent by other nodes")
+    @Test
+    public void givenPayloadFromOtherNode_whenHandlePayload_thenEvictIds() {
+
+        // when
+        invalidationBus.handlePayload("other-node:100,101");
+
+        // then
+        verify(studentCache).evict(100L);
+        verify(studentCache).evict(101L);
+        verify(hibernateCacheEvictor).evictStudent(100L);
+        verify(hibernateCacheEvictor).evictStudent(101L);
+        verify(hibernateCacheEvictor).evictQueryResults();
+        verify(suggestionIndex).refresh(List.of(100L, 101L));
+    }
+
+    @DisplayName("JUnit test for handlePayload() ignoring this node's own notifications")
+    @Test
+    public void givenOwnPayload_whenHandlePayload_thenDoNothing() {
+
+        // given
+        invalidationBus.onStudentChanged(new StudentChangedEvent(100L, StudentChangedEvent.ChangeType.UPDATED));
+        invalidationBus.publishPending();
+        ArgumentCaptor<String> payload = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate).queryForObject(any(String.class), eq(Object.class), any(), payload.capture());
+
+        // when
+        invalidationBus.handlePayload(payload.getValue());
+
+        // then
+        verify(studentCache, never()).evict(anyLong());
+        verify(hibernateCacheEvictor, never()).evictQueryResults();
+    }
+
+    @DisplayName("JUnit test for an import announced to and handled by other nodes")
+    @Test
+    public void givenImport_whenPublishAndHandlePayload_thenDropAllCachesAndRebuildIndex() {
+
+        // given
+        invalidationBus.onStudentsImported(new StudentsImportedEvent(1000));
+        invalidationBus.publishPending();
+        ArgumentCaptor<String> payload = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate).queryForObject(any(String.class), eq(Object.class), any(), payload.capture());
+
+        // when
+        invalidationBus.handlePayload("other-node" + payload.getValue().substring(payload.getValue().indexOf(':')));
+
+        // then
+        assertThat(payload.getValue()).endsWith(":*");
+        verify(studentCache).evictAll();
+        verify(hibernateCacheEvictor).evictAll();
+        verify(suggestionIndex).rebuild();
+        verify(studentCache, never()).evict(anyLong());
+    }
+
+    @DisplayName("JUnit test for handle() dropping all caches when a notification cannot be applied")
+    @Test
+    public void givenMalformedPayload_whenHandle_thenDropAllCaches() {
+
+        // when
+        invalidationBus.handle("other-node:100,not-an-id");
+
+        // then
+        verify(studentCache).evictAll();
+        verify(hibernateCacheEvictor).evictAll();
+        verify(suggestionIndex).rebuild();
+        verify(suggestionIndex, never()).refresh(any());
+    }
+}
@@ -0,0 +1,195 @@
+package com.projects.studentrestapi.cache;
+
+import com.projects.studentrestapi.entity.Student;
+import com.projects.studentrestapi.event.StudentChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class StudentCacheTests {
+
+    private StudentCache studentCache;
+
+    private Student student;
+
+    @BeforeEach
+    public void setup() {
+        studentCache = new StudentCache(100, Duration.ofMinutes(1));
+        student = Student.builder()
+                .id(100L)
+                .firstName("John Christopher")
+                .lastName("Ilacad")
+                .email("johnilacad@sample.com")
+                .build();
+    }
+
+    @DisplayName("JUnit test for get() loading once and caching")
+    @Test
+    public void givenStudent_whenGetTwice_thenLoaderCalledOnce() {
+
+        // given
+        AtomicInteger loads = new AtomicInteger();
+
+        // when
+        studentCache.get(100L, id -> {
+            loads.incrementAndGet();
+            return Optional.of(student);
+        });
+        Optional<Student> cached = studentCache.get(100L, id -> {
+            loads.incrementAndGet();
+            return Optional.of(student);
+        });
+
+        // then
+        assertThat(cached).isPresent();
+        assertThat(cached.get()).isNotSameAs(student);
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @DisplayName("JUnit test for get() not caching missing students")
+    @Test
+    public void givenMissingStudent_whenGet_thenNotCached() {
+
+        // when
+        Optional<Student> missing = studentCache.get(100L, id -> Optional.empty());
+        Optional<Student> loaded = studentCache.get(100L, id -> Optional.of(student));
+
+        // then
+        assertThat(missing).isEmpty();
+        assertThat(loaded).isPresent();
+    }
+
+    @DisplayName("JUnit test for change events evicting the cached student")
+    @Test
+    public void givenCachedStudent_whenStudentChanged_thenReload() {
+
+        // given
+        studentCache.get(100L, id -> Optional.of(student));
+
+        // when
+        studentCache.onStudentChanged(new StudentChangedEvent(100L, StudentChangedEvent.ChangeType.UPDATED));
+        Optional<Student> reloaded = studentCache.get(100L, id -> Optional.of(student.toBuilder().firstName("John").build()));
+
+        // then
+        assertThat(reloaded.get().getFirstName()).isEqualTo("John");
+    }
+
+    @DisplayName("JUnit test for an eviction racing with an in-flight load")
+    @Test
+    public void givenInFlightLoadOfOldValue_whenEvicted_thenOldValueNotLeftBehind() throws Exception {
+
+        // given
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Optional<Student>> staleLoad = CompletableFuture.supplyAsync(() ->
+                studentCache.get(100L, id -> {
+                    loading.countDown();
+                    await(release);
+                    return Optional.of(student);
+                }));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // when
+        Thread evictor = new Thread(() ->
+                studentCache.onStudentChanged(new StudentChangedEvent(100L, StudentChangedEvent.ChangeType.UPDATED)));
+        evictor.start();
+        release.countDown();
+        staleLoad.get(5, TimeUnit.SECONDS);
+        evictor.join(5000);
+        Optional<Student> afterWrite = studentCache.get(100L,
+                id -> Optional.of(student.toBuilder().firstName("John").build()));
+
+        // then
+        assertThat(afterWrite.get().getFirstName()).isEqualTo("John");
+    }
+
+    @DisplayName("JUnit test for an eviction not waiting for an in-flight load")
+    @Test
+    public void givenInFlightLoad_whenEvicted_thenEvictionDoesNotBlock() throws Exception {
+
+        // given
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        Function<Long, Optional<Student>> loader = id -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            await(release);
+            return Optional.of(student);
+        };
+        CompletableFuture<Optional<Student>> load = CompletableFuture.supplyAsync(() -> studentCache.get(100L, loader));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // when
+        Thread evictor = new Thread(() -> studentCache.evict(100L));
+        evictor.start();
+        evictor.join(1000);
+        boolean evictionBlocked = evictor.isAlive();
+        release.countDown();
+
+        // then
+        assertThat(evictionBlocked).isFalse();
+        assertThat(load.get(5, TimeUnit.SECONDS)).isPresent();
+        studentCache.get(100L, loader);
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @DisplayName("JUnit test for a failing load not being cached")
+    @Test
+    public void givenFailingLoader_whenGet_thenThrowAndLoadAgainNextTime() {
+
+        // when
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> studentCache.get(100L, id -> {
+                    throw new IllegalStateException("Database down");
+                }));
+        Optional<Student> loaded = studentCache.get(100L, id -> Optional.of(student));
+
+        // then
+        assertThat(exception).hasMessage("Database down");
+        assertThat(loaded).isPresent();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @DisplayName("JUnit test for getAll() loading only the misses")
+    @Test
+    public void givenCachedAndUncachedIds_whenGetAll_thenLoadOnlyMisses() {
+
+        // given
+        Student otherStudent = student.toBuilder().id(200L).build();
+        studentCache.get(100L, id -> Optional.of(student));
+        AtomicInteger loads = new AtomicInteger();
+
+        // when
+        Map<Long, Student> students = studentCache.getAll(List.of(100L, 200L, 300L), ids -> {
+            loads.incrementAndGet();
+            assertThat(ids).containsExactlyInAnyOrder(200L, 300L);
+            return List.of(otherStudent);
+        });
+
+        // then
+        assertThat(students).containsOnlyKeys(100L, 200L);
+        assertThat(students.get(100L)).isNotSameAs(student);
+        assertThat(loads.get()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,73 @@
+package com.projects.studentrestapi.cache;
+
+import com.projects.studentrestapi.event.StudentChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StudentJsonCacheTests {
+
+    private StudentJsonCache studentJsonCache;
+
+    private AtomicInteger encodings;
+
+    @BeforeEach
+    public void setup() {
+        studentJsonCache = new StudentJsonCache(DataSize.ofKilobytes(64));
+        encodings = new AtomicInteger();
+    }
+
+    @DisplayName("JUnit test for get() encoding each version once")
+    @Test
+    public void givenSameVersion_whenGetTwice_thenEncodeOnce() {
+
+        // when
+        byte[] first = studentJsonCache.get(100L, 1L, () -> encode("{\"version\":1}"));
+        byte[] second = studentJsonCache.get(100L, 1L, () -> encode("{\"version\":1}"));
+
+        // then
+        assertThat(second).isSameAs(first);
+        assertThat(encodings.get()).isEqualTo(1);
+    }
+
+    @DisplayName("JUnit test for get() never serving another version")
+    @Test
+    public void givenNewVersion_whenGet_thenEncodeAgain() {
+
+        // given
+        studentJsonCache.get(100L, 1L, () -> encode("{\"version\":1}"));
+
+        // when
+        byte[] json = studentJsonCache.get(100L, 2L, () -> encode("{\"version\":2}"));
+
+        // then
+        assertThat(new String(json, StandardCharsets.UTF_8)).isEqualTo("{\"version\":2}");
+        assertThat(encodings.get()).isEqualTo(2);
+    }
+
+    @DisplayName("JUnit test for onStudentChanged() evicting the encoded student")
+    @Test
+    public void givenChangedStudent_whenOnStudentChanged_thenEncodeAgain() {
+
+        // given
+        studentJsonCache.get(100L, 1L, () -> encode("{\"version\":1}"));
+
+        // when
+        studentJsonCache.onStudentChanged(new StudentChangedEvent(100L, StudentChangedEvent.ChangeType.DELETED));
+        studentJsonCache.get(100L, 1L, () -> encode("{\"version\":1}"));
+
+        // then
+        assertThat(encodings.get()).isEqualTo(2);
+    }
+
+    private byte[] encode(String json) {
+        encodings.incrementAndGet();
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+}
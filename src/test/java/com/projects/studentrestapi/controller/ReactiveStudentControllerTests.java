@@ -0,0 +1,188 @@
+package com.projects.studentrestapi.controller;
+
+import com.projects.studentrestapi.dto.StudentDto;
+import com.projects.studentrestapi.dto.StudentPageResponse;
+import com.projects.studentrestapi.entity.Student;
+import com.projects.studentrestapi.exception.UserAlreadyExistsException;
+import com.projects.studentrestapi.mapper.StudentMapperImpl;
+import com.projects.studentrestapi.service.ReactiveStudentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+
+@WebFluxTest(ReactiveStudentController.class)
+@ActiveProfiles("reactive")
+@Import(StudentMapperImpl.class)
+public class ReactiveStudentControllerTests {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private ReactiveStudentService studentService;
+
+    private Student student;
+
+    @BeforeEach
+    public void setup() {
+        student = Student.builder()
+                .id(100L)
+                .firstName("John Christopher")
+                .lastName("Ilacad")
+                .email("johnilacad@sample.com")
+                .build();
+    }
+
+    @DisplayName("JUnit test for createStudent() method")
+    @Test
+    public void givenStudentObject_whenCreateStudent_thenReturnSavedStudent() {
+
+        // given
+        given(studentService.saveStudent(any(Student.class))).willReturn(Mono.just(student));
+
+        // when
+        WebTestClient.ResponseSpec response = webTestClient.post().uri("/api/v1/students")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(student)
+                .exchange();
+
+        // then
+        response.expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(100)
+                .jsonPath("$.email").isEqualTo(student.getEmail());
+    }
+
+    @DisplayName("JUnit test for createStudent() method with a taken email")
+    @Test
+    public void givenExistingEmail_whenCreateStudent_thenReturnBadRequest() {
+
+        // given
+        given(studentService.saveStudent(any(Student.class)))
+                .willReturn(Mono.error(new UserAlreadyExistsException("Student already exist with email: x")));
+
+        // when
+        WebTestClient.ResponseSpec response = webTestClient.post().uri("/api/v1/students")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(student)
+                .exchange();
+
+        // then
+        response.expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Student already exist with email: x")
+                .jsonPath("$.details").isEqualTo("uri=/api/v1/students");
+    }
+
+    @DisplayName("JUnit test for getAllStudents() method")
+    @Test
+    public void givenStudents_whenGetAllStudents_thenReturnPage() {
+
+        // given
+        given(studentService.getStudents(eq("abc"), eq(10), any()))
+                .willReturn(Mono.just(new StudentPageResponse(List.of(new StudentDto(100L, null, null, null, null, null)),
+                        "next")));
+
+        // when
+        WebTestClient.ResponseSpec response = webTestClient.get()
+                .uri("/api/v1/students?after=abc&limit=10&fields=id")
+                .exchange();
+
+        // then
+        response.expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.students[0].id").isEqualTo(100)
+                .jsonPath("$.students[0].email").doesNotExist()
+                .jsonPath("$.nextCursor").isEqualTo("next");
+    }
+
+    @DisplayName("JUnit test for exportStudents() method")
+    @Test
+    public void givenStudents_whenExportStudents_thenStreamOneDocumentPerLine() {
+
+        // given
+        given(studentService.exportStudents())
+                .willReturn(Flux.just(student, student.toBuilder().id(101L).build()));
+
+        // when
+        WebTestClient.ResponseSpec response = webTestClient.get().uri("/api/v1/students/export")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange();
+
+        // then
+        List<StudentDto> students = response.expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(StudentDto.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+        assertThat(students).extracting(StudentDto::getId).containsExactly(100L, 101L);
+    }
+
+    @DisplayName("JUnit test for getStudentById() method with a missing student")
+    @Test
+    public void givenMissingId_whenGetStudentById_thenReturnNotFound() {
+
+        // given
+        given(studentService.getStudentById(200L)).willReturn(Mono.empty());
+
+        // when
+        WebTestClient.ResponseSpec response = webTestClient.get().uri("/api/v1/students/{id}", 200).exchange();
+
+        // then
+        response.expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Student not found")
+                .jsonPath("$.details").isEqualTo("uri=/api/v1/students/200");
+    }
+
+    @DisplayName("JUnit test for updateStudent() method with a missing student")
+    @Test
+    public void givenMissingId_whenUpdateStudent_thenReturnNotFoundWithErrorDetails() {
+
+        // given
+        given(studentService.updateStudent(eq(200L), any(Student.class))).willReturn(Mono.empty());
+
+        // when
+        WebTestClient.ResponseSpec response = webTestClient.put().uri("/api/v1/students/{id}", 200)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(student)
+                .exchange();
+
+        // then
+        response.expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Student not found");
+    }
+
+    @DisplayName("JUnit test for deleteStudent() method")
+    @Test
+    public void givenStudentId_whenDeleteStudent_thenReturnOk() {
+
+        // given
+        given(studentService.deleteStudentById(100L)).willReturn(Mono.empty());
+
+        // when
+        WebTestClient.ResponseSpec response = webTestClient.delete().uri("/api/v1/students/{id}", 100).exchange();
+
+        // then
+        response.expectStatus().isOk()
+                .expectBody(String.class).isEqualTo("Student deleted successfully.");
+    }
+}
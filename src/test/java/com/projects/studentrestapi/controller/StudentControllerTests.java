@@ -1,30 +1,61 @@
 package com.projects.studentrestapi.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.projects.studentrestapi.cache.StudentJsonCache;
+import com.projects.studentrestapi.config.CborConfig;
+import com.projects.studentrestapi.dto.StudentChangesResponse;
+import com.projects.studentrestapi.dto.StudentDto;
+import com.projects.studentrestapi.dto.StudentField;
+import com.projects.studentrestapi.dto.StudentImportError;
+import com.projects.studentrestapi.dto.StudentImportStatus;
+import com.projects.studentrestapi.dto.StudentLookupResponse;
+import com.projects.studentrestapi.dto.StudentPageResponse;
+import com.projects.studentrestapi.dto.StudentPatchRequest;
+import com.projects.studentrestapi.dto.StudentSearchResponse;
+import com.projects.studentrestapi.dto.StudentSuggestion;
 import com.projects.studentrestapi.entity.Student;
 import com.projects.studentrestapi.exception.ResourceNotFoundException;
+import com.projects.studentrestapi.exception.SyncTokenExpiredException;
+import com.projects.studentrestapi.exception.VersionConflictException;
+import com.projects.studentrestapi.mapper.StudentMapper;
+import com.projects.studentrestapi.mapper.StudentMapperImpl;
+import com.projects.studentrestapi.service.StudentImportService;
 import com.projects.studentrestapi.service.StudentService;
+import com.projects.studentrestapi.service.StudentSyncService;
+import com.projects.studentrestapi.stream.StudentChangeFeed;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.mockito.BDDMockito.*;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.CoreMatchers.is;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 
 @WebMvcTest
+@Import({StudentMapperImpl.class, StudentJsonCache.class, CborConfig.class})
 public class StudentControllerTests {
 
     @Autowired
@@ -33,9 +64,21 @@ public class StudentControllerTests {
     @MockBean
     private StudentService studentService;
 
+    @MockBean
+    private StudentSyncService studentSyncService;
+
+    @MockBean
+    private StudentChangeFeed studentChangeFeed;
+
+    @MockBean
+    private StudentImportService studentImportService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private StudentMapper studentMapper;
+
     private Student student;
 
     @BeforeEach
@@ -68,6 +111,30 @@ public class StudentControllerTests {
                 .andExpect(jsonPath("$.email", is(student.getEmail())));
     }
 
+    @DisplayName("JUnit test for createStudents() method")
+    @Test
+    public void givenListOfStudents_whenCreateStudents_thenReturnSavedStudents() throws Exception {
+
+        // given
+        List<Student> students = List.of(student, Student.builder()
+                .firstName("John")
+                .lastName("Cena")
+                .email("jcena2020@email.com")
+                .build());
+        given(studentService.saveStudents(anyList())).willAnswer(invocation -> invocation.getArgument(0));
+
+        // when
+        ResultActions response = mockMvc.perform(post("/api/v1/students/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(students)));
+
+        // then
+        response.andDo(print())
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.size()", is(students.size())))
+                .andExpect(jsonPath("$[1].email", is("jcena2020@email.com")));
+    }
+
     @DisplayName("JUnit test for getAllStudents() method")
     @Test
     public void givenListOfStudents_whenGetAllStudents_thenReturnListOfStudents() throws Exception {
@@ -80,7 +147,8 @@ public class StudentControllerTests {
                 .lastName("Cena")
                 .email("jcena2020@email.com")
                 .build());
-        given(studentService.getAllStudents()).willReturn(students);
+        given(studentService.getStudents(null, 50, EnumSet.allOf(StudentField.class)))
+                .willReturn(new StudentPageResponse(studentMapper.toDtos(students), null));
 
         // when
         ResultActions response = mockMvc.perform(get("/api/v1/students"));
@@ -88,9 +156,153 @@ public class StudentControllerTests {
         // then
         response.andDo(print())
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.size()", is(students.size())));
+                .andExpect(jsonPath("$.students.size()", is(students.size())))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @DisplayName("JUnit test for getAllStudents() method with cursor and limit")
+    @Test
+    public void givenCursorAndLimit_whenGetAllStudents_thenReturnPageWithNextCursor() throws Exception {
+
+        // given
+        given(studentService.getStudents("MTAw", 1, EnumSet.allOf(StudentField.class)))
+                .willReturn(new StudentPageResponse(List.of(studentMapper.toDto(student)), "MTAx"));
+
+        // when
+        ResultActions response = mockMvc.perform(get("/api/v1/students")
+                .param("after", "MTAw")
+                .param("limit", "1"));
+
+        // then
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.students.size()", is(1)))
+                .andExpect(jsonPath("$.nextCursor", is("MTAx")));
+    }
+
+
+    @DisplayName("JUnit test for getAllStudents() method with CBOR")
+    @Test
+    public void givenCborAccepted_whenGetAllStudents_thenReturnCbor() throws Exception {
+
+        // given
+        given(studentService.getStudents(null, 50, EnumSet.allOf(StudentField.class)))
+                .willReturn(new StudentPageResponse(List.of(studentMapper.toDto(student)), null));
+
+        // when
+        MvcResult result = mockMvc.perform(get("/api/v1/students").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn();
+
+        // then
+        JsonNode body = new CBORMapper().readTree(result.getResponse().getContentAsByteArray());
+        assertThat(body.get("students").get(0).get("email").asText()).isEqualTo(student.getEmail());
+    }
+
+    @DisplayName("JUnit test for createStudents() method with a CBOR body")
+    @Test
+    public void givenCborBody_whenCreateStudents_thenReadCborAndReturnJson() throws Exception {
+
+        // given
+        given(studentService.saveStudents(anyList())).willAnswer(invocation -> invocation.getArgument(0));
+
+        // when
+        ResultActions response = mockMvc.perform(post("/api/v1/students/batch")
+                .contentType(MediaType.APPLICATION_CBOR)
+                .content(new CBORMapper().writeValueAsBytes(List.of(student))));
+
+        // then
+        response.andDo(print())
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].email", is(student.getEmail())));
+    }
+
+    @DisplayName("JUnit test for getAllStudents() method with an unchanged page")
+    @Test
+    public void givenMatchingETag_whenGetAllStudents_thenReturnNotModifiedWithoutLoadingPage() throws Exception {
+
+        // given
+        given(studentService.getStudents(null, 50, EnumSet.allOf(StudentField.class)))
+                .willReturn(new StudentPageResponse(List.of(studentMapper.toDto(student)), null, "abc"));
+        given(studentService.getStudentsVersionTag(null, 50)).willReturn("abc");
+        String etag = mockMvc.perform(get("/api/v1/students"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        // when
+        ResultActions response = mockMvc.perform(get("/api/v1/students").header("If-None-Match", etag));
+
+        // then
+        response.andDo(print())
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("Vary", "Accept"))
+                .andExpect(content().string(""));
+        verify(studentService, times(1)).getStudents(any(), anyInt(), any());
+        verify(studentService, times(1)).getStudentsVersionTag(any(), anyInt());
+    }
+
+    @DisplayName("JUnit test for getAllStudents() method with a sparse fieldset")
+    @Test
+    public void givenFields_whenGetAllStudents_thenPassSelectedFields() throws Exception {
+
+        // given
+        given(studentService.getStudents(null, 50, EnumSet.of(StudentField.ID, StudentField.EMAIL)))
+                .willReturn(new StudentPageResponse(List.of(new StudentDto(100L, null, null, "jc@gmail.com", null, null)), null));
+
+        // when
+        ResultActions response = mockMvc.perform(get("/api/v1/students").param("fields", "id, email"));
+
+        // then
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.students[0].email", is("jc@gmail.com")))
+                .andExpect(jsonPath("$.students[0].firstName").doesNotExist());
     }
 
+    @DisplayName("JUnit test for getAllStudents() method with an unknown field")
+    @Test
+    public void givenUnknownField_whenGetAllStudents_thenReturnBadRequest() throws Exception {
+
+        // when
+        ResultActions response = mockMvc.perform(get("/api/v1/students").param("fields", "password"));
+
+        // then
+        response.andDo(print())
+                .andExpect(status().isBadRequest());
+    }
+
+    @DisplayName("JUnit test for exportStudents() method")
+    @Test
+    public void givenStudents_whenExportStudents_thenStreamNewlineDelimitedJson() throws Exception {
+
+        // given
+        Student student2 = Student.builder()
+                .firstName("John")
+                .lastName("Cena")
+                .email("jcena2020@email.com")
+                .build();
+        willAnswer(invocation -> {
+            Consumer<Student> consumer = invocation.getArgument(0);
+            consumer.accept(student);
+            consumer.accept(student2);
+            return null;
+        }).given(studentService).exportStudents(any());
+
+        // when
+        MvcResult result = mockMvc.perform(get("/api/v1/students/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        ResultActions response = mockMvc.perform(asyncDispatch(result));
+
+        // then
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(objectMapper.writeValueAsString(studentMapper.toDto(student)) + "\n"
+                        + objectMapper.writeValueAsString(studentMapper.toDto(student2)) + "\n"));
+    }
 
     @DisplayName("JUnit test for getStudentById() method [Positive Scenario]")
     @Test
@@ -112,6 +324,81 @@ public class StudentControllerTests {
     }
 
 
+    @DisplayName("JUnit test for getStudentById() method with CBOR preferred")
+    @Test
+    public void givenCborPreferred_whenFindStudentById_thenReturnCbor() throws Exception {
+
+        // given
+        long id = 100L;
+        given(studentService.getStudentById(id)).willReturn(Optional.of(student));
+
+        // when
+        MvcResult result = mockMvc.perform(get("/api/v1/students/{id}", id)
+                        .header("Accept", "application/cbor, application/json;q=0.5"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn();
+
+        // then
+        JsonNode body = new CBORMapper().readTree(result.getResponse().getContentAsByteArray());
+        assertThat(body.get("email").asText()).isEqualTo(student.getEmail());
+    }
+
+    @DisplayName("JUnit test for getStudentById() method with conditional headers")
+    @Test
+    public void givenCurrentETag_whenFindStudentById_thenReturnNotModified() throws Exception {
+
+        // given
+        long id = 100L;
+        student.setId(id);
+        student.setVersion(3L);
+        student.setUpdatedAt(Instant.parse("2024-03-01T10:15:30Z"));
+        given(studentService.getStudentById(id)).willReturn(Optional.of(student));
+        MockHttpServletResponse first = mockMvc.perform(get("/api/v1/students/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Last-Modified", "Fri, 01 Mar 2024 10:15:30 GMT"))
+                .andReturn().getResponse();
+
+        // when
+        ResultActions unchanged = mockMvc.perform(get("/api/v1/students/{id}", id)
+                .header("If-None-Match", first.getHeader("ETag")));
+        ResultActions otherFields = mockMvc.perform(get("/api/v1/students/{id}", id)
+                .param("fields", "email")
+                .header("If-None-Match", first.getHeader("ETag")));
+        ResultActions otherFormat = mockMvc.perform(get("/api/v1/students/{id}", id)
+                .accept(MediaType.APPLICATION_CBOR)
+                .header("If-None-Match", first.getHeader("ETag")));
+
+        // then
+        unchanged.andDo(print())
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("Vary", "Accept"))
+                .andExpect(content().string(""));
+        otherFields.andExpect(status().isOk());
+        otherFormat.andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string("Vary", "Accept"));
+    }
+
+    @DisplayName("JUnit test for getStudentById() method with a sparse fieldset")
+    @Test
+    public void givenFields_whenFindStudentById_thenReturnOnlyRequestedFields() throws Exception {
+
+        // given
+        long id = 100L;
+        given(studentService.getStudentById(id)).willReturn(Optional.of(student));
+
+        // when
+        ResultActions response = mockMvc.perform(get("/api/v1/students/{id}", id).param("fields", "email"));
+
+        // then
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email", is(student.getEmail())))
+                .andExpect(jsonPath("$.id").doesNotExist())
+                .andExpect(jsonPath("$.firstName").doesNotExist());
+    }
+
     @DisplayName("JUnit test for getStudentById() method [Negative Scenario]")
     @Test
     public void givenInvalidStudentId_whenGetStudentById_thenReturnExceptionHandler() throws Exception {
@@ -128,6 +415,22 @@ public class StudentControllerTests {
                 .andExpect(status().isNotFound());
     }
 
+    @DisplayName("JUnit test for getStudentByEmail() method")
+    @Test
+    public void givenStudentEmail_whenGetStudentByEmail_thenReturnStudentObject() throws Exception {
+
+        // given
+        given(studentService.getStudentByEmail(student.getEmail())).willReturn(student);
+
+        // when
+        ResultActions response = mockMvc.perform(get("/api/v1/students").param("email", student.getEmail()));
+
+        // then
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email", is(student.getEmail())));
+    }
+
     @DisplayName("JUnit test for updateStudent() method [Positive Scenario]")
     @Test
     public void givenStudentIdAndUpdatedStudentObject_whenUpdateStudent_thenReturnUpdatedStudent() throws Exception {
@@ -180,6 +483,161 @@ public class StudentControllerTests {
                 .andExpect(status().isNotFound());
     }
 
+    @DisplayName("JUnit test for searchStudentsByName() method")
+    @Test
+    public void givenNamePrefixes_whenSearchStudentsByName_thenReturnStudentsList() throws Exception {
+
+        // given
+        List<Student> students = List.of(
+                Student.builder().firstName("John").lastName("Cena").email("jcena@gmail.com").build(),
+                Student.builder().firstName("John").lastName("Cena").email("jcena2@gmail.com").build());
+        given(studentService.searchStudents("Jo", "Ce", 0, 20))
+                .willReturn(new StudentSearchResponse(studentMapper.toDtos(students), 0, false));
+
+        // when
+        ResultActions response = mockMvc.perform(get("/api/v1/students/search")
+                .param("firstName", "Jo")
+                .param("lastName", "Ce")
+                .param("size", "20"));
+
+        // then
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.students.size()", is(2)))
+                .andExpect(jsonPath("$.hasNext", is(false)));
+    }
+
+    @DisplayName("JUnit test for searchStudents() method")
+    @Test
+    public void givenQuery_whenSearchStudents_thenReturnRankedStudents() throws Exception {
+
+        // given
+        Student student = Student.builder()
+                .id(100L)
+                .firstName("John Christopher")
+                .lastName("Ilacad")
+                .email("johnilacad@sample.com")
+                .build();
+        given(studentService.searchStudents("john ilac", 0, 50))
+                .willReturn(new StudentSearchResponse(List.of(studentMapper.toDto(student)), 0, false));
+
+        // when
+        ResultActions response = mockMvc.perform(get("/api/v1/students/search").param("q", "john ilac"));
+
+        // then
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.students.size()", is(1)))
+                .andExpect(jsonPath("$.students[0].lastName", is("Ilacad")));
+    }
+
+    @DisplayName("JUnit test for suggestStudents() method")
+    @Test
+    public void givenQuery_whenSuggestStudents_thenReturnSuggestions() throws Exception {
+
+        // given
+        given(studentService.suggestStudents("jo", 10))
+                .willReturn(List.of(new StudentSuggestion(100L, "John", "Cena", "jcena@gmail.com")));
+
+        // when
+        ResultActions response = mockMvc.perform(get("/api/v1/students/suggest").param("q", "jo"));
+
+        // then
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()", is(1)))
+                .andExpect(jsonPath("$[0].id", is(100)))
+                .andExpect(jsonPath("$[0].firstName", is("John")));
+    }
+
+    @DisplayName("JUnit test for getStudentsByIds() method")
+    @Test
+    public void givenIds_whenGetStudentsByIds_thenReturnStudentsAndMissingIds() throws Exception {
+
+        // given
+        Student student = Student.builder()
+                .id(100L)
+                .firstName("John Christopher")
+                .lastName("Ilacad")
+                .email("johnilacad@sample.com")
+                .build();
+        given(studentService.getStudentsByIds(List.of(100L, 200L)))
+                .willReturn(new StudentLookupResponse(List.of(studentMapper.toDto(student)), List.of(200L)));
+
+        // when
+        ResultActions response = mockMvc.perform(get("/api/v1/students").param("ids", "100,200"));
+
+        // then
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.students.size()", is(1)))
+                .andExpect(jsonPath("$.students[0].email", is(student.getEmail())))
+                .andExpect(jsonPath("$.missingIds[0]", is(200)));
+    }
+
+    @DisplayName("JUnit test for lookupStudents() method")
+    @Test
+    public void givenIdsInBody_whenLookupStudents_thenReturnMissingIds() throws Exception {
+
+        // given
+        List<Long> ids = List.of(100L, 200L);
+        given(studentService.getStudentsByIds(ids)).willReturn(new StudentLookupResponse(List.of(), ids));
+
+        // when
+        ResultActions response = mockMvc.perform(post("/api/v1/students/lookup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(ids)));
+
+        // then
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.missingIds.size()", is(2)));
+    }
+
+    @DisplayName("JUnit test for patchStudent() method [Positive Scenario]")
+    @Test
+    public void givenChangedFields_whenPatchStudent_thenReturnNoContentWithNewETag() throws Exception {
+
+        // given
+        long studentId = 100L;
+        StudentPatchRequest patch = new StudentPatchRequest(null, null, "jcena@gmail.com", 0L);
+        given(studentService.patchStudent(eq(studentId), any(StudentPatchRequest.class))).willReturn(1L);
+        student.setId(studentId);
+        student.setVersion(1L);
+        given(studentService.getStudentById(studentId)).willReturn(Optional.of(student));
+
+        // when
+        ResultActions response = mockMvc.perform(patch("/api/v1/students/{id}", studentId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(patch)));
+
+        // then
+        String etag = response.andDo(print())
+                .andExpect(status().isNoContent())
+                .andReturn().getResponse().getHeader("ETag");
+        mockMvc.perform(get("/api/v1/students/{id}", studentId).header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @DisplayName("JUnit test for patchStudent() method [Negative Scenario]")
+    @Test
+    public void givenStaleVersion_whenPatchStudent_thenReturnConflict() throws Exception {
+
+        // given
+        long studentId = 100L;
+        StudentPatchRequest patch = new StudentPatchRequest("John", null, null, 0L);
+        willThrow(new VersionConflictException()).given(studentService).patchStudent(eq(studentId), any(StudentPatchRequest.class));
+
+        // when
+        ResultActions response = mockMvc.perform(patch("/api/v1/students/{id}", studentId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(patch)));
+
+        // then
+        response.andDo(print())
+                .andExpect(status().isConflict());
+    }
+
     @DisplayName("JUnit test for deleteStudent() method")
     @Test
     public void givenStudentId_whenDeleteStudent_thenDoNothing() throws Exception {
@@ -195,4 +653,149 @@ public class StudentControllerTests {
         response.andDo(print())
                 .andExpect(status().isOk());
     }
+
+    @DisplayName("JUnit test for deleteStudents() method")
+    @Test
+    public void givenIds_whenDeleteStudents_thenReturnDeletedCount() throws Exception {
+
+        // given
+        given(studentService.deleteStudentsByIds(List.of(1L, 2L, 3L))).willReturn(2);
+
+        // when
+        ResultActions response = mockMvc.perform(delete("/api/v1/students").param("ids", "1,2,3"));
+
+        // then
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted", is(2)));
+    }
+
+    @DisplayName("JUnit test for deleteStudentsInBatch() method")
+    @Test
+    public void givenIdsInBody_whenDeleteStudentsInBatch_thenReturnDeletedCount() throws Exception {
+
+        // given
+        List<Long> ids = List.of(1L, 2L, 3L);
+        given(studentService.deleteStudentsByIds(ids)).willReturn(3);
+
+        // when
+        ResultActions response = mockMvc.perform(post("/api/v1/students/batch/delete")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(ids)));
+
+        // then
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted", is(3)));
+    }
+
+    @DisplayName("JUnit test for getStudentChanges() method [Positive Scenario]")
+    @Test
+    public void givenSinceToken_whenGetStudentChanges_thenReturnChangesAndWatermark() throws Exception {
+
+        // given
+        StudentDto changedStudent = new StudentDto(100L, "John", "Cena", "jcena@gmail.com", 1L, Instant.now());
+        given(studentSyncService.getChanges("token", 500))
+                .willReturn(new StudentChangesResponse(List.of(changedStudent), List.of(101L), "next", false));
+
+        // when
+        ResultActions response = mockMvc.perform(get("/api/v1/students/changes").param("since", "token"));
+
+        // then
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.students[0].id", is(100)))
+                .andExpect(jsonPath("$.deletedIds[0]", is(101)))
+                .andExpect(jsonPath("$.watermark", is("next")))
+                .andExpect(jsonPath("$.hasMore", is(false)));
+    }
+
+    @DisplayName("JUnit test for getStudentChanges() method [Negative Scenario]")
+    @Test
+    public void givenExpiredSinceToken_whenGetStudentChanges_thenReturnGone() throws Exception {
+
+        // given
+        given(studentSyncService.getChanges("expired", 500)).willThrow(new SyncTokenExpiredException());
+
+        // when
+        ResultActions response = mockMvc.perform(get("/api/v1/students/changes").param("since", "expired"));
+
+        // then
+        response.andDo(print())
+                .andExpect(status().isGone());
+    }
+
+    @DisplayName("JUnit test for streamStudentChanges() method [Positive Scenario]")
+    @Test
+    public void givenLastEventId_whenStreamStudentChanges_thenStartEventStream() throws Exception {
+
+        // given
+        given(studentChangeFeed.subscribe("abc-42")).willReturn(Optional.of(new SseEmitter()));
+
+        // when
+        ResultActions response = mockMvc.perform(get("/api/v1/students/stream")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .header("Last-Event-ID", "abc-42"));
+
+        // then
+        response.andDo(print())
+                .andExpect(request().asyncStarted());
+    }
+
+    @DisplayName("JUnit test for streamStudentChanges() method [Negative Scenario]")
+    @Test
+    public void givenFeedAtSubscriberLimit_whenStreamStudentChanges_thenReturnServiceUnavailable() throws Exception {
+
+        // given
+        given(studentChangeFeed.subscribe(null)).willReturn(Optional.empty());
+
+        // when
+        ResultActions response = mockMvc.perform(get("/api/v1/students/stream")
+                .accept(MediaType.TEXT_EVENT_STREAM));
+
+        // then
+        response.andDo(print())
+                .andExpect(status().isServiceUnavailable());
+    }
+
+    @DisplayName("JUnit test for importStudents() method")
+    @Test
+    public void givenCsvFile_whenImportStudents_thenReturnAcceptedJob() throws Exception {
+
+        // given
+        MockMultipartFile file = new MockMultipartFile("file", "students.csv", "text/csv",
+                "firstName,lastName,email\n".getBytes());
+        given(studentImportService.startImport(any())).willReturn(new StudentImportStatus("job-1",
+                StudentImportStatus.State.QUEUED, 0, 0, 0, List.of(), null, Instant.now(), null, null));
+
+        // when
+        ResultActions response = mockMvc.perform(multipart("/api/v1/students/imports").file(file));
+
+        // then
+        response.andDo(print())
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "http://localhost/api/v1/students/imports/job-1"))
+                .andExpect(jsonPath("$.id", is("job-1")))
+                .andExpect(jsonPath("$.state", is("QUEUED")));
+    }
+
+    @DisplayName("JUnit test for getImport() method")
+    @Test
+    public void givenJobId_whenGetImport_thenReturnProgressAndErrors() throws Exception {
+
+        // given
+        given(studentImportService.getImport("job-1")).willReturn(new StudentImportStatus("job-1",
+                StudentImportStatus.State.RUNNING, 3, 1, 2,
+                List.of(new StudentImportError(3, "Invalid email: x")), null, Instant.now(), Instant.now(), null));
+
+        // when
+        ResultActions response = mockMvc.perform(get("/api/v1/students/imports/{id}", "job-1"));
+
+        // then
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state", is("RUNNING")))
+                .andExpect(jsonPath("$.rowsImported", is(1)))
+                .andExpect(jsonPath("$.errors[0].line", is(3)));
+    }
 }
@@ -0,0 +1,117 @@
+package com.projects.studentrestapi.datasource;
+
+import com.projects.studentrestapi.event.StudentChangedEvent;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class ReadYourWritesFilterTests {
+
+    @Mock
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    private final ReadYourWrites readYourWrites = new ReadYourWrites();
+
+    private ReadYourWritesFilter filter;
+
+    private MockHttpServletRequest request;
+
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    public void setup() {
+        filter = new ReadYourWritesFilter(readYourWrites, replicaLagMonitor);
+        request = new MockHttpServletRequest();
+        response = new MockHttpServletResponse();
+    }
+
+    @DisplayName("JUnit test for answering a writing request with the primary's position")
+    @Test
+    public void givenWritingRequest_whenDoFilter_thenSetSessionLsnBeforeBody() throws Exception {
+
+        // given
+        given(replicaLagMonitor.currentPrimaryLsn()).willReturn(Lsn.parse("16/B374D848"));
+        FilterChain chain = (servletRequest, servletResponse) -> {
+            readYourWrites.onStudentChanged(new StudentChangedEvent(1L, StudentChangedEvent.ChangeType.CREATED));
+            servletResponse.getWriter().write("{}");
+            servletResponse.flushBuffer();
+        };
+
+        // when
+        filter.doFilter(request, response, chain);
+
+        // then
+        assertThat(response.getHeader(ReadYourWrites.HEADER)).isEqualTo("16/B374D848");
+        assertThat(response.getContentAsString()).isEqualTo("{}");
+    }
+
+    @DisplayName("JUnit test for answering a writing request without a body with the primary's position")
+    @Test
+    public void givenWritingRequestWithoutBody_whenDoFilter_thenSetSessionLsn() throws Exception {
+
+        // given
+        given(replicaLagMonitor.currentPrimaryLsn()).willReturn(Lsn.parse("0/1A2B"));
+        FilterChain chain = (servletRequest, servletResponse) ->
+                readYourWrites.onStudentChanged(new StudentChangedEvent(1L, StudentChangedEvent.ChangeType.DELETED));
+
+        // when
+        filter.doFilter(request, response, chain);
+
+        // then
+        assertThat(response.getHeader(ReadYourWrites.HEADER)).isEqualTo("0/1A2B");
+    }
+
+    @DisplayName("JUnit test for reads waiting for the replica to replay past the client's token")
+    @Test
+    public void givenSessionLsn_whenDoFilter_thenRequireReplicaToReachIt() throws Exception {
+
+        // given
+        request.addHeader(ReadYourWrites.HEADER, "16/B374D848");
+        AtomicBoolean satisfiedBehind = new AtomicBoolean(true);
+        AtomicBoolean satisfiedAt = new AtomicBoolean(false);
+        FilterChain chain = (servletRequest, servletResponse) -> {
+            satisfiedBehind.set(readYourWrites.isSatisfiedBy(Lsn.parse("16/B374D847")));
+            satisfiedAt.set(readYourWrites.isSatisfiedBy(Lsn.parse("16/B374D848")));
+        };
+
+        // when
+        filter.doFilter(request, response, chain);
+
+        // then
+        assertThat(satisfiedBehind).isFalse();
+        assertThat(satisfiedAt).isTrue();
+        assertThat(response.getHeader(ReadYourWrites.HEADER)).isNull();
+        verify(replicaLagMonitor, never()).currentPrimaryLsn();
+    }
+
+    @DisplayName("JUnit test for reads with an invalid token going to the primary")
+    @Test
+    public void givenInvalidSessionLsn_whenDoFilter_thenNeverSatisfiedByReplica() throws Exception {
+
+        // given
+        request.addHeader(ReadYourWrites.HEADER, "not-an-lsn");
+        AtomicBoolean satisfied = new AtomicBoolean(true);
+        FilterChain chain = (servletRequest, servletResponse) ->
+                satisfied.set(readYourWrites.isSatisfiedBy(Lsn.parse("FFFFFFFF/FFFFFFFE")));
+
+        // when
+        filter.doFilter(request, response, chain);
+
+        // then
+        assertThat(satisfied).isFalse();
+    }
+}
@@ -0,0 +1,76 @@
+package com.projects.studentrestapi.datasource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+public class ReplicaLagMonitorTests {
+
+    @Mock
+    private JdbcTemplate primary;
+
+    @Mock
+    private JdbcTemplate replica;
+
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @BeforeEach
+    public void setup() {
+        replicaLagMonitor = new ReplicaLagMonitor(primary, replica, evictionCount::get);
+    }
+
+    @DisplayName("JUnit test for confirming evictions while the primary keeps writing")
+    @Test
+    public void givenReplicaOnePollBehind_whenPoll_thenCaughtUpWithEarlierEvictions() {
+
+        // given
+        given(primary.queryForObject(anyString(), eq(String.class))).willReturn("0/100", "0/200", "0/300");
+        given(replica.queryForObject(anyString(), eq(String.class))).willReturn("0/50", "0/150", "0/250");
+
+        // when
+        evictionCount.set(1);
+        replicaLagMonitor.poll();
+        boolean afterFirstPoll = replicaLagMonitor.isCaughtUpWithCaches();
+        evictionCount.set(2);
+        replicaLagMonitor.poll();
+        boolean afterSecondPoll = replicaLagMonitor.isCaughtUpWithCaches();
+        replicaLagMonitor.poll();
+
+        // then
+        // The replica never reaches the primary's current position, but passes the one recorded with each eviction
+        assertThat(afterFirstPoll).isFalse();
+        assertThat(afterSecondPoll).isFalse();
+        assertThat(replicaLagMonitor.isCaughtUpWithCaches()).isTrue();
+        assertThat(replicaLagMonitor.getReplayedLsn()).isEqualTo(Lsn.parse("0/250"));
+    }
+
+    @DisplayName("JUnit test for a replica that does not answer")
+    @Test
+    public void givenFailingReplica_whenPoll_thenUnavailable() {
+
+        // given
+        given(primary.queryForObject(anyString(), eq(String.class))).willReturn("0/100");
+        given(replica.queryForObject(anyString(), eq(String.class))).willThrow(new IllegalStateException("down"));
+
+        // when
+        replicaLagMonitor.poll();
+
+        // then
+        assertThat(replicaLagMonitor.isAvailable()).isFalse();
+        assertThat(replicaLagMonitor.isCaughtUpWithCaches()).isFalse();
+    }
+}
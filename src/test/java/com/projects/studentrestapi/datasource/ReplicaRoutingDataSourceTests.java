@@ -0,0 +1,148 @@
+package com.projects.studentrestapi.datasource;
+
+import com.projects.studentrestapi.event.StudentChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+public class ReplicaRoutingDataSourceTests {
+
+    private static final long REPLAYED_LSN = Lsn.parse("16/B374D848");
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource replica;
+
+    @Mock
+    private Connection primaryConnection;
+
+    @Mock
+    private Connection replicaConnection;
+
+    @Mock
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    private final ReadYourWrites readYourWrites = new ReadYourWrites();
+
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    public void setup() throws SQLException {
+        lenient().when(primary.getConnection()).thenReturn(primaryConnection);
+        lenient().when(replica.getConnection()).thenReturn(replicaConnection);
+        lenient().when(replicaLagMonitor.isAvailable()).thenReturn(true);
+        lenient().when(replicaLagMonitor.getReplayedLsn()).thenReturn(REPLAYED_LSN);
+        lenient().when(replicaLagMonitor.isCaughtUpWithCaches()).thenReturn(true);
+        routingDataSource = new ReplicaRoutingDataSource(primary, replica, replicaLagMonitor, readYourWrites);
+    }
+
+    @AfterEach
+    public void cleanup() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        readYourWrites.end();
+    }
+
+    @DisplayName("JUnit test for routing a read-only transaction to a caught-up replica")
+    @Test
+    public void givenReadOnlyTransaction_whenGetConnection_thenReturnReplicaConnection() throws SQLException {
+
+        // given
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        readYourWrites.begin(null);
+
+        // when
+        Connection connection = routingDataSource.getConnection();
+
+        // then
+        assertThat(connection).isSameAs(replicaConnection);
+    }
+
+    @DisplayName("JUnit test for routing a read-write transaction to the primary")
+    @Test
+    public void givenReadWriteTransaction_whenGetConnection_thenReturnPrimaryConnection() throws SQLException {
+
+        // given - no read-only transaction
+
+        // when
+        Connection connection = routingDataSource.getConnection();
+
+        // then
+        assertThat(connection).isSameAs(primaryConnection);
+    }
+
+    @DisplayName("JUnit test for routing to the primary while the replica misses a change evicted from the caches")
+    @Test
+    public void givenReplicaBehindCacheEvictions_whenGetConnection_thenReturnPrimaryConnection() throws SQLException {
+
+        // given
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        lenient().when(replicaLagMonitor.isCaughtUpWithCaches()).thenReturn(false);
+
+        // when
+        Connection connection = routingDataSource.getConnection();
+
+        // then
+        assertThat(connection).isSameAs(primaryConnection);
+    }
+
+    @DisplayName("JUnit test for routing to the primary while the replica is unavailable")
+    @Test
+    public void givenUnavailableReplica_whenGetConnection_thenReturnPrimaryConnection() throws SQLException {
+
+        // given
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        lenient().when(replicaLagMonitor.isAvailable()).thenReturn(false);
+
+        // when
+        Connection connection = routingDataSource.getConnection();
+
+        // then
+        assertThat(connection).isSameAs(primaryConnection);
+    }
+
+    @DisplayName("JUnit test for routing to the primary while the client's token is ahead of the replica")
+    @Test
+    public void givenTokenAheadOfReplica_whenGetConnection_thenReturnPrimaryConnection() throws SQLException {
+
+        // given
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        readYourWrites.begin(Lsn.format(REPLAYED_LSN + 1));
+
+        // when
+        Connection connection = routingDataSource.getConnection();
+
+        // then
+        assertThat(connection).isSameAs(primaryConnection);
+    }
+
+    @DisplayName("JUnit test for routing reads that follow a write in the same request to the primary")
+    @Test
+    public void givenWriteInRequest_whenGetConnection_thenReturnPrimaryConnection() throws SQLException {
+
+        // given
+        readYourWrites.begin(Lsn.format(REPLAYED_LSN));
+        readYourWrites.onStudentChanged(new StudentChangedEvent(1L, StudentChangedEvent.ChangeType.CREATED));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // when
+        Connection connection = routingDataSource.getConnection();
+
+        // then
+        assertThat(connection).isSameAs(primaryConnection);
+    }
+}
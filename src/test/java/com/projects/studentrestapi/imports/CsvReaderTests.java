@@ -0,0 +1,58 @@
+package com.projects.studentrestapi.imports;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class CsvReaderTests {
+
+    @DisplayName("JUnit test for readRecord() with quoted fields and line breaks")
+    @Test
+    public void givenQuotedFields_whenReadRecord_thenUnquoteAndTrackLines() throws IOException {
+
+        // given
+        CsvReader csv = new CsvReader(new StringReader(
+                "firstName,lastName,email\r\n"
+                        + "\"Cena, John\",\"The \"\"Champ\"\"\",jcena@gmail.com\r\n"
+                        + "\r\n"
+                        + "\"Multi\nLine\",Ilacad,\n"
+                        + "last,row,x@y.z"));
+
+        // when
+        List<String> header = csv.readRecord();
+        List<String> quoted = csv.readRecord();
+        List<String> multiLine = csv.readRecord();
+        long multiLineStart = csv.getRecordLine();
+        List<String> last = csv.readRecord();
+        long lastStart = csv.getRecordLine();
+
+        // then
+        assertThat(header).containsExactly("firstName", "lastName", "email");
+        assertThat(quoted).containsExactly("Cena, John", "The \"Champ\"", "jcena@gmail.com");
+        assertThat(multiLine).containsExactly("Multi\nLine", "Ilacad", "");
+        assertThat(multiLineStart).isEqualTo(4);
+        assertThat(last).containsExactly("last", "row", "x@y.z");
+        assertThat(lastStart).isEqualTo(6);
+        assertThat(csv.readRecord()).isNull();
+    }
+
+    @DisplayName("JUnit test for readRecord() with an unterminated quoted field")
+    @Test
+    public void givenUnterminatedQuote_whenReadRecord_thenThrowsException() {
+
+        // given
+        CsvReader csv = new CsvReader(new StringReader("\"John,Cena,jcena@gmail.com\n"));
+
+        // when
+        IOException exception = assertThrows(IOException.class, csv::readRecord);
+
+        // then
+        assertThat(exception).hasMessageContaining("line 1");
+    }
+}
@@ -0,0 +1,140 @@
+package com.projects.studentrestapi.imports;
+
+import com.projects.studentrestapi.dto.StudentImportError;
+import com.projects.studentrestapi.dto.StudentImportRow;
+import com.projects.studentrestapi.dto.StudentImportStatus;
+import com.projects.studentrestapi.event.StudentsImportedEvent;
+import com.projects.studentrestapi.repository.StudentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class StudentCsvImporterTests {
+
+    @Mock
+    private StudentRepository studentRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @TempDir
+    private Path tempDir;
+
+    private StudentCsvImporter importer;
+
+    @BeforeEach
+    public void setup() {
+        importer = new StudentCsvImporter(studentRepository, eventPublisher, 1);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        importer.shutdown();
+    }
+
+    @DisplayName("JUnit test for run() importing valid rows and reporting invalid ones")
+    @Test
+    public void givenCsvWithInvalidRows_whenRun_thenImportValidRowsAndReportErrors() throws IOException {
+
+        // given
+        Path file = write("""
+                email,last_name,first_name
+                jcena@gmail.com,Cena,John
+                not-an-email,Doe,Jane
+                ,Doe,Jane
+                too,many,fields,here
+                johnilacad@sample.com,Ilacad,John Christopher
+                """);
+        // The second valid row (line 6) loses to an existing email
+        given(studentRepository.importRows(any())).willReturn(List.of(6L));
+        StudentImportJob job = new StudentImportJob("job-1");
+
+        // when
+        importer.run(job, file);
+
+        // then
+        StudentImportStatus status = job.toStatus();
+        assertThat(status.getState()).isEqualTo(StudentImportStatus.State.COMPLETED);
+        assertThat(status.getRowsRead()).isEqualTo(5);
+        assertThat(status.getRowsImported()).isEqualTo(1);
+        assertThat(status.getRowsRejected()).isEqualTo(4);
+        assertThat(status.getErrors()).extracting(StudentImportError::getLine).containsExactly(3L, 4L, 5L, 6L);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<StudentImportRow>> rows = ArgumentCaptor.forClass(List.class);
+        verify(studentRepository).importRows(rows.capture());
+        assertThat(rows.getValue()).extracting(StudentImportRow::getFirstName, StudentImportRow::getEmail)
+                .containsExactly(tuple("John", "jcena@gmail.com"), tuple("John Christopher", "johnilacad@sample.com"));
+        verify(eventPublisher).publishEvent(any(StudentsImportedEvent.class));
+        assertThat(file).doesNotExist();
+    }
+
+    @DisplayName("JUnit test for run() loading large files in chunks")
+    @Test
+    public void givenLargeCsv_whenRun_thenImportInChunks() throws IOException {
+
+        // given
+        StringBuilder csv = new StringBuilder("firstName,lastName,email\n");
+        int rowCount = StudentCsvImporter.CHUNK_SIZE * 2 + 500;
+        for (int i = 0; i < rowCount; i++) {
+            csv.append("John,Cena,jcena").append(i).append("@gmail.com\n");
+        }
+        Path file = write(csv.toString());
+        List<Integer> chunkSizes = new ArrayList<>();
+        given(studentRepository.importRows(any())).willAnswer(invocation -> {
+            chunkSizes.add(invocation.<List<StudentImportRow>>getArgument(0).size());
+            return List.of();
+        });
+        StudentImportJob job = new StudentImportJob("job-2");
+
+        // when
+        importer.run(job, file);
+
+        // then
+        assertThat(chunkSizes).containsExactly(StudentCsvImporter.CHUNK_SIZE, StudentCsvImporter.CHUNK_SIZE, 500);
+        assertThat(job.toStatus().getRowsImported()).isEqualTo(rowCount);
+    }
+
+    @DisplayName("JUnit test for run() with a file missing a required column")
+    @Test
+    public void givenCsvWithoutEmailColumn_whenRun_thenFailWithoutImporting() throws IOException {
+
+        // given
+        Path file = write("firstName,lastName\nJohn,Cena\n");
+        StudentImportJob job = new StudentImportJob("job-3");
+
+        // when
+        importer.run(job, file);
+
+        // then
+        StudentImportStatus status = job.toStatus();
+        assertThat(status.getState()).isEqualTo(StudentImportStatus.State.FAILED);
+        assertThat(status.getFailure()).contains("email");
+        verify(studentRepository, never()).importRows(any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    private Path write(String content) throws IOException {
+        return Files.writeString(Files.createTempFile(tempDir, "students", ".csv"), content, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,76 @@
+package com.projects.studentrestapi.integration;
+
+import com.projects.studentrestapi.StudentRestApiApplication;
+import com.projects.studentrestapi.entity.Student;
+import com.projects.studentrestapi.service.StudentService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs two application contexts against the same Postgres container, standing in for two replicas.
+ */
+public class StudentCacheInvalidationIT extends AbstractContainerBaseTest {
+
+    private ConfigurableApplicationContext nodeA;
+
+    private ConfigurableApplicationContext nodeB;
+
+    @BeforeEach
+    void setup() {
+        nodeA = startNode();
+        nodeB = startNode();
+    }
+
+    @AfterEach
+    void tearDown() {
+        nodeA.close();
+        nodeB.close();
+    }
+
+    @DisplayName("A write on one node evicts the cached student on the other node")
+    @Test
+    void givenStudentCachedOnBothNodes_whenUpdatedOnNodeA_thenNodeBConverges() throws Exception {
+
+        // given
+        StudentService serviceA = nodeA.getBean(StudentService.class);
+        StudentService serviceB = nodeB.getBean(StudentService.class);
+        Student saved = serviceA.saveStudent(Student.builder()
+                .firstName("John Christopher")
+                .lastName("Ilacad")
+                .email("jc-" + System.nanoTime() + "@gmail.com")
+                .build());
+        serviceA.getStudentById(saved.getId());
+        serviceB.getStudentById(saved.getId());
+
+        // when
+        Student update = serviceA.getStudentById(saved.getId()).get();
+        update.setFirstName("John Paul");
+        serviceA.updateStudent(update);
+
+        // then
+        long deadline = System.currentTimeMillis() + 5000;
+        String firstNameOnB = serviceB.getStudentById(saved.getId()).get().getFirstName();
+        while (!firstNameOnB.equals("John Paul") && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            firstNameOnB = serviceB.getStudentById(saved.getId()).get().getFirstName();
+        }
+        assertThat(firstNameOnB).isEqualTo("John Paul");
+    }
+
+    private static ConfigurableApplicationContext startNode() {
+        return new SpringApplicationBuilder(StudentRestApiApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=" + postgresSqlContainer.getJdbcUrl(),
+                        "spring.datasource.username=" + postgresSqlContainer.getUsername(),
+                        "spring.datasource.password=" + postgresSqlContainer.getPassword(),
+                        "student.cache.invalidation.enabled=true")
+                .run();
+    }
+}
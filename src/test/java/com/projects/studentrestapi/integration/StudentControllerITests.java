@@ -75,7 +75,7 @@ public class StudentControllerITests {
         // then
         response.andDo(MockMvcResultHandlers.print())
                 .andExpect(MockMvcResultMatchers.status().isOk())
-                .andExpect(MockMvcResultMatchers.jsonPath("$.size()", CoreMatchers.is(students.size())));
+                .andExpect(MockMvcResultMatchers.jsonPath("$.students.size()", CoreMatchers.is(students.size())));
     }
 
     // Positive
@@ -0,0 +1,117 @@
+package com.projects.studentrestapi.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projects.studentrestapi.datasource.ReadYourWrites;
+import com.projects.studentrestapi.datasource.ReplicaLagMonitor;
+import com.projects.studentrestapi.entity.Student;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Uses a second, empty database of the same Postgres container as the replica. It is always caught up (the
+ * container has one write-ahead log) but holds none of the primary's students, so a read served by it is a 404.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+public class StudentReplicaRoutingIT extends AbstractContainerBaseTest {
+
+    private static final String REPLICA_DATABASE = "student_replica_db";
+
+    private static boolean replicaCreated;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @DynamicPropertySource
+    public static void replicaPropertySource(DynamicPropertyRegistry registry) throws SQLException {
+        String replicaUrl = postgresSqlContainer.getJdbcUrl()
+                .replace("/" + postgresSqlContainer.getDatabaseName(), "/" + REPLICA_DATABASE);
+        createReplicaDatabase(replicaUrl);
+        registry.add("student.replica.enabled", () -> "true");
+        registry.add("student.replica.url", () -> replicaUrl);
+        registry.add("student.replica.username", postgresSqlContainer::getUsername);
+        registry.add("student.replica.password", postgresSqlContainer::getPassword);
+    }
+
+    @DisplayName("Reads go to the replica, and to the primary for a client whose token the replica has not reached")
+    @Test
+    void givenCreatedStudent_whenGetStudentById_thenRouteByToken() throws Exception {
+
+        // given
+        Student student = Student.builder()
+                .firstName("John Christopher")
+                .lastName("Ilacad")
+                .email("jc-" + System.nanoTime() + "@gmail.com")
+                .build();
+        MvcResult created = mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/students")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(student)))
+                .andExpect(MockMvcResultMatchers.status().isCreated())
+                .andExpect(MockMvcResultMatchers.header().exists(ReadYourWrites.HEADER))
+                .andReturn();
+        long id = objectMapper.readValue(created.getResponse().getContentAsString(), Student.class).getId();
+
+        // A read served by the primary before then would cache the student
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!replicaLagMonitor.isCaughtUpWithCaches() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+
+        // when
+        int replicaStatus = getStudentStatus(id, null);
+        int primaryStatus = getStudentStatus(id, "FFFFFFFF/0");
+
+        // then
+        assertThat(replicaStatus).isEqualTo(404);
+        assertThat(primaryStatus).isEqualTo(200);
+    }
+
+    private int getStudentStatus(long id, String sessionLsn) throws Exception {
+        var request = MockMvcRequestBuilders.get("/api/v1/students/{id}", id);
+        if (sessionLsn != null) {
+            request.header(ReadYourWrites.HEADER, sessionLsn);
+        }
+        return mockMvc.perform(request).andReturn().getResponse().getStatus();
+    }
+
+    private static synchronized void createReplicaDatabase(String replicaUrl) throws SQLException {
+        if (replicaCreated) {
+            return;
+        }
+        try (Connection connection = DriverManager.getConnection(postgresSqlContainer.getJdbcUrl(),
+                postgresSqlContainer.getUsername(), postgresSqlContainer.getPassword());
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE DATABASE " + REPLICA_DATABASE);
+        }
+        try (Connection connection = DriverManager.getConnection(replicaUrl,
+                postgresSqlContainer.getUsername(), postgresSqlContainer.getPassword())) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("schema-postgresql.sql"));
+        }
+        replicaCreated = true;
+    }
+}
@@ -0,0 +1,116 @@
+package com.projects.studentrestapi.integration;
+
+import com.projects.studentrestapi.entity.Student;
+import com.projects.studentrestapi.exception.UserAlreadyExistsException;
+import com.projects.studentrestapi.repository.StudentRepository;
+import com.projects.studentrestapi.service.StudentService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Slf4j
+public class StudentServiceIT extends AbstractContainerBaseTest {
+
+    private static final int REQUESTS = 2000;
+
+    private static final int THREADS = 32;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @BeforeEach
+    void setup() {
+        studentRepository.deleteAll();
+    }
+
+    @DisplayName("Concurrent creates of the same email insert exactly one student")
+    @Test
+    void givenConcurrentCreatesWithSameEmail_whenSaveStudent_thenOnlyOneSucceeds() throws Exception {
+
+        // given
+        IntFunction<Student> sameEmail = i -> Student.builder()
+                .firstName("John")
+                .lastName("Cena " + i)
+                .email(i % 2 == 0 ? "jcena@gmail.com" : "JCena@gmail.com")
+                .build();
+
+        // when
+        AtomicInteger conflicts = new AtomicInteger();
+        int created = createConcurrently(sameEmail, conflicts);
+
+        // then
+        assertThat(created).isEqualTo(1);
+        assertThat(conflicts.get()).isEqualTo(REQUESTS - 1);
+        assertThat(studentRepository.count()).isEqualTo(1);
+    }
+
+    @DisplayName("Concurrent creates of different emails all succeed")
+    @Test
+    void givenConcurrentCreatesWithDifferentEmails_whenSaveStudent_thenAllSucceed() throws Exception {
+
+        // given
+        IntFunction<Student> differentEmails = i -> Student.builder()
+                .firstName("John")
+                .lastName("Cena " + i)
+                .email("jcena" + i + "@gmail.com")
+                .build();
+
+        // when
+        AtomicInteger conflicts = new AtomicInteger();
+        int created = createConcurrently(differentEmails, conflicts);
+
+        // then
+        assertThat(created).isEqualTo(REQUESTS);
+        assertThat(conflicts.get()).isZero();
+        assertThat(studentRepository.count()).isEqualTo(REQUESTS);
+    }
+
+    private int createConcurrently(IntFunction<Student> students, AtomicInteger conflicts) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            long start = System.nanoTime();
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < REQUESTS; i++) {
+                Student student = students.apply(i);
+                results.add(executor.submit(() -> {
+                    try {
+                        studentService.saveStudent(student);
+                        return true;
+                    } catch (UserAlreadyExistsException exception) {
+                        conflicts.incrementAndGet();
+                        return false;
+                    }
+                }));
+            }
+            int created = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get()) {
+                    created++;
+                }
+            }
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            log.info("{} creates on {} threads in {} ms ({} creates/s)",
+                    REQUESTS, THREADS, elapsedMillis, REQUESTS * 1000L / Math.max(elapsedMillis, 1));
+            return created;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -1,14 +1,26 @@
 package com.projects.studentrestapi.repository;
 
+import com.projects.studentrestapi.dto.StudentChange;
+import com.projects.studentrestapi.dto.StudentDto;
+import com.projects.studentrestapi.dto.StudentField;
+import com.projects.studentrestapi.dto.StudentImportRow;
 import com.projects.studentrestapi.entity.Student;
 import com.projects.studentrestapi.integration.AbstractContainerBaseTest;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,6 +33,9 @@ public class StudentRepositoryIT extends AbstractContainerBaseTest {
     @Autowired
     private StudentRepository studentRepository;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     private Student student;
 
     @BeforeEach
@@ -69,6 +84,28 @@ public class StudentRepositoryIT extends AbstractContainerBaseTest {
         assertThat(students.size()).isEqualTo(studentRepository.findAll().size());
     }
 
+    @DisplayName("JUnit test for keyset page operation")
+    @Test
+    public void givenStudentList_whenFindByIdGreaterThan_thenReturnNextPageInIdOrder() {
+
+        // given
+        Student student2 = Student.builder()
+                .firstName("John")
+                .lastName("Cena")
+                .email("cena@sample.com")
+                .build();
+        Student savedStudent = studentRepository.save(student);
+        Student savedStudent2 = studentRepository.save(student2);
+
+        // when
+        List<Student> firstPage = studentRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(1));
+        List<Student> nextPage = studentRepository.findByIdGreaterThanOrderByIdAsc(firstPage.get(0).getId(), Limit.of(1));
+
+        // then
+        assertThat(firstPage).extracting(Student::getId).containsExactly(savedStudent.getId());
+        assertThat(nextPage).extracting(Student::getId).containsExactly(savedStudent2.getId());
+    }
+
     @DisplayName("JUnit test for find by id operation")
     @Test
     public void givenStudentObject_whenFindById_thenReturnStudentObject() {
@@ -97,6 +134,59 @@ public class StudentRepositoryIT extends AbstractContainerBaseTest {
         assertThat(existingStudent).isNotNull();
     }
 
+    @DisplayName("JUnit test for find existing emails operation")
+    @Test
+    public void givenStudentEmails_whenFindExistingEmails_thenReturnOnlyTakenEmails() {
+
+        // given
+        Student savedStudent = studentRepository.save(student);
+
+        // when
+        List<String> existingEmails = studentRepository.findExistingEmails(
+                List.of(savedStudent.getEmail(), "unknown@sample.com"));
+
+        // then
+        assertThat(existingEmails).containsExactly(savedStudent.getEmail());
+    }
+
+    @DisplayName("JUnit test for insert if email absent operation")
+    @Test
+    public void givenTakenEmailInOtherCase_whenInsertIfEmailAbsent_thenReturnEmpty() {
+
+        // given
+        Student savedStudent = studentRepository.insertIfEmailAbsent(student.getFirstName(), student.getLastName(),
+                student.getEmail()).get();
+
+        // when
+        Optional<Student> duplicate = studentRepository.insertIfEmailAbsent("John", "Cena",
+                student.getEmail().toUpperCase());
+
+        // then
+        assertThat(savedStudent.getId()).isGreaterThanOrEqualTo(100);
+        assertThat(duplicate).isEmpty();
+        assertThat(studentRepository.count()).isEqualTo(1);
+    }
+
+    @DisplayName("JUnit test for insert if email absent sharing Hibernate's block of ids")
+    @Test
+    public void givenHibernateSaves_whenInsertIfEmailAbsent_thenUseNextIdOfBlock() {
+
+        // given
+        Student first = studentRepository.saveAndFlush(student);
+
+        // when
+        Student inserted = studentRepository.insertIfEmailAbsent("John", "Cena", "john@cena.com").get();
+        Student last = studentRepository.saveAndFlush(Student.builder()
+                .firstName("Randy")
+                .lastName("Orton")
+                .email("randy@orton.com")
+                .build());
+
+        // then
+        assertThat(List.of(first.getId(), inserted.getId(), last.getId()))
+                .containsExactly(first.getId(), first.getId() + 1, first.getId() + 2);
+    }
+
     @DisplayName("JUnit test for update student operation")
     @Test
     public void givenStudentObject_whenUpdate_thenReturnStudentObject() {
@@ -115,6 +205,23 @@ public class StudentRepositoryIT extends AbstractContainerBaseTest {
         assertThat(existingStudent.getFirstName()).isEqualTo("Christopher John");
     }
 
+    @DisplayName("JUnit test for update fields operation")
+    @Test
+    public void givenCurrentAndStaleVersion_whenUpdateFields_thenUpdateOnlyCurrentVersion() {
+
+        // given
+        Student savedStudent = studentRepository.saveAndFlush(student);
+        long version = savedStudent.getVersion();
+
+        // when
+        int updated = studentRepository.updateFields(savedStudent.getId(), version, null, null, "jcena@gmail.com");
+        int stale = studentRepository.updateFields(savedStudent.getId(), version, "John", null, null);
+
+        // then
+        assertThat(updated).isEqualTo(1);
+        assertThat(stale).isZero();
+    }
+
     @DisplayName("JUnit test for delete student operation")
     @Test
     public void givenStudentObject_whenDelete_thenRemoveStudent() {
@@ -130,6 +237,195 @@ public class StudentRepositoryIT extends AbstractContainerBaseTest {
         assertThat(existingStudent).isEmpty();
     }
 
+    @DisplayName("JUnit test for bulk delete operation")
+    @Test
+    public void givenStudentIds_whenDeleteByIds_thenRemoveOnlyExistingStudents() {
+
+        // given
+        Student savedStudent = studentRepository.save(student);
+        Student otherStudent = studentRepository.save(Student.builder()
+                .firstName("John")
+                .lastName("Cena")
+                .email("jcena@gmail.com")
+                .build());
+        studentRepository.flush();
+
+        // when
+        List<Long> deletedIds = studentRepository.deleteByIds(List.of(savedStudent.getId(), -1L));
+
+        // then
+        assertThat(deletedIds).containsExactly(savedStudent.getId());
+        assertThat(studentRepository.existsById(otherStudent.getId())).isTrue();
+    }
+
+    @DisplayName("JUnit test for delta sync of updates and deletes")
+    @Test
+    public void givenUpdatedAndDeletedStudents_whenFindChanges_thenReturnBothInChangeOrder() {
+
+        // given
+        Student savedStudent = studentRepository.saveAndFlush(student);
+        Student deletedStudent = studentRepository.saveAndFlush(Student.builder()
+                .firstName("John")
+                .lastName("Cena")
+                .email("jcena@gmail.com")
+                .build());
+        studentRepository.deleteByIds(List.of(deletedStudent.getId()));
+        Instant until = Instant.now().plusSeconds(60);
+
+        // when
+        List<StudentChange> changes = studentRepository.findChanges(Instant.EPOCH, 0L, until, Instant.EPOCH, 10);
+        List<StudentChange> afterFirst = studentRepository.findChanges(changes.get(0).getChangedAt(),
+                changes.get(0).getId(), until, Instant.EPOCH, 10);
+
+        // then
+        assertThat(changes).extracting(StudentChange::getId)
+                .containsExactly(savedStudent.getId(), deletedStudent.getId());
+        assertThat(changes.get(0).getStudent().getEmail()).isEqualTo(student.getEmail());
+        assertThat(changes.get(1).isDeleted()).isTrue();
+        assertThat(afterFirst).extracting(StudentChange::getId).containsExactly(deletedStudent.getId());
+    }
+
+    @DisplayName("JUnit test for tombstone purge")
+    @Test
+    public void givenTombstone_whenPurgeTombstones_thenSkipItInChanges() {
+
+        // given
+        Student savedStudent = studentRepository.saveAndFlush(student);
+        studentRepository.deleteByIds(List.of(savedStudent.getId()));
+        Instant until = Instant.now().plusSeconds(60);
+
+        // when
+        int purged = studentRepository.purgeTombstones(until);
+
+        // then
+        assertThat(purged).isGreaterThanOrEqualTo(1);
+        assertThat(studentRepository.findChanges(Instant.EPOCH, 0L, until, Instant.EPOCH, 10)).isEmpty();
+    }
+
+    @DisplayName("JUnit test for batched insert of new students")
+    @Test
+    public void givenStudentsWithTakenEmail_whenInsertAllIfEmailAbsent_thenReturnOnlyInsertedInOrder() {
+
+        // given
+        studentRepository.saveAndFlush(student);
+        Student first = Student.builder().firstName("John").lastName("Cena").email("jcena@gmail.com").build();
+        Student taken = Student.builder().firstName("John").lastName("Ilacad").email(student.getEmail().toUpperCase()).build();
+        Student last = Student.builder().firstName("Jane").lastName("Doe").email("jane@gmail.com").build();
+
+        // when
+        List<Student> inserted = studentRepository.insertAllIfEmailAbsent(List.of(first, taken, last));
+
+        // then
+        assertThat(inserted).extracting(Student::getEmail).containsExactly("jcena@gmail.com", "jane@gmail.com");
+        assertThat(inserted.get(0).getId()).isLessThan(inserted.get(1).getId());
+        assertThat(inserted).allSatisfy(saved -> assertThat(saved.getUpdatedAt()).isNotNull());
+        assertThat(studentRepository.findByEmail("jane@gmail.com")).isPresent();
+    }
+
+    @DisplayName("JUnit test for chunk import through COPY")
+    @Test
+    public void givenRowsWithTakenEmails_whenImportRows_thenInsertOthersAndReturnRejectedLines() {
+
+        // given
+        studentRepository.saveAndFlush(student);
+        List<StudentImportRow> rows = List.of(
+                new StudentImportRow(2, "John", "Cena", "jcena@gmail.com"),
+                new StudentImportRow(3, "John", "Ilacad", student.getEmail().toUpperCase()),
+                new StudentImportRow(4, "Johnny", "Cena", "JCena@gmail.com"),
+                new StudentImportRow(5, "Jane", "O\"Doe, Jr.", "jane@gmail.com"));
+
+        // when
+        List<Long> rejectedLines = studentRepository.importRows(rows);
+
+        // then
+        assertThat(rejectedLines).containsExactly(3L, 4L);
+        assertThat(studentRepository.findByEmail("jcena@gmail.com")).get()
+                .extracting(Student::getFirstName).isEqualTo("John");
+        assertThat(studentRepository.findByEmail("jane@gmail.com")).get()
+                .extracting(Student::getLastName).isEqualTo("O\"Doe, Jr.");
+    }
+
+    @DisplayName("JUnit test for projected keyset page")
+    @Test
+    public void givenFields_whenFindPage_thenReturnOnlySelectedFields() {
+
+        // given
+        Student savedStudent = studentRepository.save(student);
+
+        // when
+        List<StudentDto> students = studentRepository.findPage(savedStudent.getId() - 1, 10,
+                EnumSet.of(StudentField.ID, StudentField.EMAIL));
+
+        // then
+        assertThat(students).singleElement().satisfies(page -> {
+            assertThat(page.getId()).isEqualTo(savedStudent.getId());
+            assertThat(page.getEmail()).isEqualTo(student.getEmail());
+            assertThat(page.getFirstName()).isNull();
+        });
+    }
+
+    @DisplayName("JUnit test for name prefix search")
+    @Test
+    public void givenStudentsSharingAName_whenSearchByNamePrefix_thenReturnAllMatches() {
+
+        // given
+        studentRepository.save(student);
+        studentRepository.save(Student.builder()
+                .firstName(student.getFirstName())
+                .lastName(student.getLastName())
+                .email("other" + student.getEmail())
+                .build());
+        studentRepository.save(Student.builder()
+                .firstName("John")
+                .lastName("Cena")
+                .email("jcena@gmail.com")
+                .build());
+
+        // when
+        List<Student> students = studentRepository.searchByNamePrefix(student.getLastName().substring(0, 3), "", 0, 10);
+
+        // then
+        assertThat(students).hasSize(2);
+    }
+
+    @DisplayName("JUnit test for first name prefix search")
+    @Test
+    public void givenFirstNamePrefix_whenSearchByNamePrefix_thenOrderByFirstName() {
+
+        // given
+        studentRepository.save(Student.builder().firstName("Johnny").lastName("Appleseed").email("ja@gmail.com").build());
+        studentRepository.save(Student.builder().firstName("John").lastName("Cena").email("jcena@gmail.com").build());
+        studentRepository.save(Student.builder().firstName("Jo_n").lastName("Doe").email("jdoe@gmail.com").build());
+
+        // when
+        List<Student> students = studentRepository.searchByNamePrefix("", "John", 0, 10);
+
+        // then
+        assertThat(students).extracting(Student::getFirstName).containsExactly("John", "Johnny");
+    }
+
+    @DisplayName("JUnit test for full-text search")
+    @Test
+    public void givenStudents_whenSearchFullText_thenMatchWordPrefixesAndTypos() {
+
+        // given
+        Student savedStudent = studentRepository.save(student);
+        studentRepository.save(Student.builder()
+                .firstName("John")
+                .lastName("Cena")
+                .email("jcena@gmail.com")
+                .build());
+        studentRepository.flush();
+
+        // when
+        List<Student> byPrefixes = studentRepository.searchFullText("john ilac", 0, 10);
+        List<Student> withTypo = studentRepository.searchFullText("Ilacadd", 0, 10);
+
+        // then
+        assertThat(byPrefixes).extracting(Student::getId).containsExactly(savedStudent.getId());
+        assertThat(withTypo).extracting(Student::getId).contains(savedStudent.getId());
+    }
+
     @DisplayName("JUnit test for custom query using JPQL (index)")
     @Test
     public void givenFirstNameAndLastName_whenFindByJPQL_thenReturnStudentObject() {
@@ -184,5 +480,121 @@ public class StudentRepositoryIT extends AbstractContainerBaseTest {
         // then
         assertThat(existingStudent).isNotNull();
     }
-}
 
+    // The second-level and query caches only serve committed data, so these run outside the test transaction
+
+    @DisplayName("JUnit test for repeat find by id served from the second-level cache")
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void givenCachedStudent_whenFindByIdAgain_thenIssueNoSql() {
+
+        // given
+        Student savedStudent = studentRepository.save(student);
+        studentRepository.findById(savedStudent.getId());
+        Statistics statistics = statistics();
+
+        // when
+        Optional<Student> existingStudent = studentRepository.findById(savedStudent.getId());
+
+        // then
+        assertThat(existingStudent).isPresent();
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(1);
+    }
+
+    @DisplayName("JUnit test for repeat find by email served from the query cache")
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void givenCachedEmailLookup_whenFindByEmailAgain_thenIssueNoSql() {
+
+        // given
+        Student savedStudent = studentRepository.save(student);
+        studentRepository.findByEmail(savedStudent.getEmail());
+        Statistics statistics = statistics();
+
+        // when
+        Optional<Student> existingStudent = studentRepository.findByEmail(savedStudent.getEmail());
+
+        // then
+        assertThat(existingStudent).isPresent();
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+    }
+
+    @DisplayName("JUnit test for repeat name lookups served from the query cache")
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void givenCachedNameLookups_whenFindByNameAgain_thenIssueNoSql() {
+
+        // given
+        studentRepository.save(student);
+        studentRepository.findByJPQL(student.getFirstName(), student.getLastName());
+        studentRepository.findByNativeSQL(student.getFirstName(), student.getLastName());
+        Statistics statistics = statistics();
+
+        // when
+        Student byJpql = studentRepository.findByJPQL(student.getFirstName(), student.getLastName());
+        Student byNativeSql = studentRepository.findByNativeSQL(student.getFirstName(), student.getLastName());
+
+        // then
+        assertThat(byJpql).isNotNull();
+        assertThat(byNativeSql).isNotNull();
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @DisplayName("JUnit test for cached query results invalidated by a write")
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void givenCachedEmailLookup_whenStudentDeleted_thenQueryAgain() {
+
+        // given
+        Student savedStudent = studentRepository.save(student);
+        studentRepository.findByEmail(savedStudent.getEmail());
+
+        // when
+        studentRepository.deleteById(savedStudent.getId());
+        Optional<Student> existingStudent = studentRepository.findByEmail(savedStudent.getEmail());
+
+        // then
+        assertThat(existingStudent).isEmpty();
+    }
+
+    @DisplayName("JUnit test for a cached empty email lookup invalidated by a native insert")
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void givenCachedMissingEmail_whenInsertIfEmailAbsent_thenQueryAgain() {
+
+        // given - no change event runs here, so only the native insert itself can invalidate the cached result
+        studentRepository.findByEmail(student.getEmail());
+
+        // when
+        studentRepository.insertIfEmailAbsent(student.getFirstName(), student.getLastName(), student.getEmail());
+        Optional<Student> existingStudent = studentRepository.findByEmail(student.getEmail());
+
+        // then
+        assertThat(existingStudent).isPresent();
+    }
+
+    @DisplayName("JUnit test for cached query results invalidated by a bulk delete")
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void givenCachedEmailLookup_whenDeleteByIds_thenQueryAgain() {
+
+        // given - no change event runs here, so only the delete statement itself can invalidate the cached result
+        Student savedStudent = studentRepository.save(student);
+        studentRepository.findByEmail(savedStudent.getEmail());
+
+        // when
+        studentRepository.deleteByIds(List.of(savedStudent.getId()));
+        Optional<Student> existingStudent = studentRepository.findByEmail(savedStudent.getEmail());
+
+        // then
+        assertThat(existingStudent).isEmpty();
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
@@ -1,12 +1,16 @@
 package com.projects.studentrestapi.repository;
 
+import com.projects.studentrestapi.dto.StudentDto;
+import com.projects.studentrestapi.dto.StudentField;
 import com.projects.studentrestapi.entity.Student;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
 
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
 
@@ -65,6 +69,28 @@ public class StudentRepositoryTests {
         assertThat(students.size()).isEqualTo(2);
     }
 
+    @DisplayName("JUnit test for keyset page operation")
+    @Test
+    public void givenStudentList_whenFindByIdGreaterThan_thenReturnNextPageInIdOrder() {
+
+        // given
+        Student student2 = Student.builder()
+                .firstName("John")
+                .lastName("Cena")
+                .email("cena@sample.com")
+                .build();
+        Student savedStudent = studentRepository.save(student);
+        Student savedStudent2 = studentRepository.save(student2);
+
+        // when
+        List<Student> firstPage = studentRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(1));
+        List<Student> nextPage = studentRepository.findByIdGreaterThanOrderByIdAsc(firstPage.get(0).getId(), Limit.of(1));
+
+        // then
+        assertThat(firstPage).extracting(Student::getId).containsExactly(savedStudent.getId());
+        assertThat(nextPage).extracting(Student::getId).containsExactly(savedStudent2.getId());
+    }
+
     @DisplayName("JUnit test for find by id operation")
     @Test
     public void givenStudentObject_whenFindById_thenReturnStudentObject() {
@@ -93,6 +119,21 @@ public class StudentRepositoryTests {
         assertThat(existingStudent).isNotNull();
     }
 
+    @DisplayName("JUnit test for find existing emails operation")
+    @Test
+    public void givenStudentEmails_whenFindExistingEmails_thenReturnOnlyTakenEmails() {
+
+        // given
+        Student savedStudent = studentRepository.save(student);
+
+        // when
+        List<String> existingEmails = studentRepository.findExistingEmails(
+                List.of(savedStudent.getEmail(), "unknown@sample.com"));
+
+        // then
+        assertThat(existingEmails).containsExactly(savedStudent.getEmail());
+    }
+
     @DisplayName("JUnit test for update student operation")
     @Test
     public void givenStudentObject_whenUpdate_thenReturnStudentObject() {
@@ -111,6 +152,23 @@ public class StudentRepositoryTests {
         assertThat(existingStudent.getFirstName()).isEqualTo("Christopher John");
     }
 
+    @DisplayName("JUnit test for update fields operation")
+    @Test
+    public void givenCurrentAndStaleVersion_whenUpdateFields_thenUpdateOnlyCurrentVersion() {
+
+        // given
+        Student savedStudent = studentRepository.saveAndFlush(student);
+        long version = savedStudent.getVersion();
+
+        // when
+        int updated = studentRepository.updateFields(savedStudent.getId(), version, null, null, "jcena@gmail.com");
+        int stale = studentRepository.updateFields(savedStudent.getId(), version, "John", null, null);
+
+        // then
+        assertThat(updated).isEqualTo(1);
+        assertThat(stale).isZero();
+    }
+
     @DisplayName("JUnit test for delete student operation")
     @Test
     public void givenStudentObject_whenDelete_thenRemoveStudent() {
@@ -126,6 +184,65 @@ public class StudentRepositoryTests {
         assertThat(existingStudent).isEmpty();
     }
 
+    @DisplayName("JUnit test for projected keyset page")
+    @Test
+    public void givenFields_whenFindPage_thenReturnOnlySelectedFields() {
+
+        // given
+        Student savedStudent = studentRepository.save(student);
+
+        // when
+        List<StudentDto> students = studentRepository.findPage(savedStudent.getId() - 1, 10,
+                EnumSet.of(StudentField.ID, StudentField.EMAIL));
+
+        // then
+        assertThat(students).singleElement().satisfies(page -> {
+            assertThat(page.getId()).isEqualTo(savedStudent.getId());
+            assertThat(page.getEmail()).isEqualTo(student.getEmail());
+            assertThat(page.getFirstName()).isNull();
+        });
+    }
+
+    @DisplayName("JUnit test for name prefix search")
+    @Test
+    public void givenStudentsSharingAName_whenSearchByNamePrefix_thenReturnAllMatches() {
+
+        // given
+        studentRepository.save(student);
+        studentRepository.save(Student.builder()
+                .firstName(student.getFirstName())
+                .lastName(student.getLastName())
+                .email("other" + student.getEmail())
+                .build());
+        studentRepository.save(Student.builder()
+                .firstName("John")
+                .lastName("Cena")
+                .email("jcena@gmail.com")
+                .build());
+
+        // when
+        List<Student> students = studentRepository.searchByNamePrefix(student.getLastName().substring(0, 3), "", 0, 10);
+
+        // then
+        assertThat(students).hasSize(2);
+    }
+
+    @DisplayName("JUnit test for first name prefix search")
+    @Test
+    public void givenFirstNamePrefix_whenSearchByNamePrefix_thenOrderByFirstName() {
+
+        // given
+        studentRepository.save(Student.builder().firstName("Johnny").lastName("Appleseed").email("ja@gmail.com").build());
+        studentRepository.save(Student.builder().firstName("John").lastName("Cena").email("jcena@gmail.com").build());
+        studentRepository.save(Student.builder().firstName("Jo_n").lastName("Doe").email("jdoe@gmail.com").build());
+
+        // when
+        List<Student> students = studentRepository.searchByNamePrefix("", "John", 0, 10);
+
+        // then
+        assertThat(students).extracting(Student::getFirstName).containsExactly("John", "Johnny");
+    }
+
     @DisplayName("JUnit test for custom query using JPQL (index)")
     @Test
     public void givenFirstNameAndLastName_whenFindByJPQL_thenReturnStudentObject() {
@@ -0,0 +1,142 @@
+package com.projects.studentrestapi.search;
+
+import com.projects.studentrestapi.dto.StudentSuggestion;
+import com.projects.studentrestapi.entity.Student;
+import com.projects.studentrestapi.event.StudentChangedEvent;
+import com.projects.studentrestapi.repository.StudentRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class StudentSuggestionIndexTests {
+
+    @Mock
+    private StudentRepository studentRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private StudentSuggestionIndex suggestionIndex;
+
+    private Student johnCena;
+
+    private Student johnIlacad;
+
+    @BeforeEach
+    public void setup() {
+        suggestionIndex = new StudentSuggestionIndex(studentRepository, entityManager, transactionManager);
+        johnCena = Student.builder()
+                .id(100L)
+                .firstName("John")
+                .lastName("Cena")
+                .email("jcena@gmail.com")
+                .build();
+        johnIlacad = Student.builder()
+                .id(200L)
+                .firstName("John Christopher")
+                .lastName("Ilacad")
+                .email("johnilacad@sample.com")
+                .build();
+        given(studentRepository.streamAll()).willReturn(Stream.of(johnCena, johnIlacad));
+        suggestionIndex.build();
+    }
+
+    @DisplayName("JUnit test for suggest() matching any field case-insensitively")
+    @Test
+    public void givenPrefix_whenSuggest_thenReturnEachMatchingStudentOnce() {
+
+        // when
+        List<StudentSuggestion> johns = suggestionIndex.suggest(" JO ", 10);
+        List<StudentSuggestion> ila = suggestionIndex.suggest("ila", 10);
+        List<StudentSuggestion> limited = suggestionIndex.suggest("j", 1);
+
+        // then
+        assertThat(johns).extracting(StudentSuggestion::getId).containsExactly(100L, 200L);
+        assertThat(ila).extracting(StudentSuggestion::getLastName).containsExactly("Ilacad");
+        assertThat(limited).hasSize(1);
+        assertThat(suggestionIndex.suggest("x", 10)).isEmpty();
+    }
+
+    @DisplayName("JUnit test for onStudentChanged() replacing the terms of an updated student without a database read")
+    @Test
+    public void givenUpdatedStudent_whenOnStudentChanged_thenOldTermsAreGone() {
+
+        // given
+        Student updatedStudent = johnCena.toBuilder().lastName("Smith").build();
+
+        // when
+        suggestionIndex.onStudentChanged(new StudentChangedEvent(100L, StudentChangedEvent.ChangeType.UPDATED,
+                updatedStudent));
+
+        // then
+        assertThat(suggestionIndex.suggest("cena", 10)).isEmpty();
+        assertThat(suggestionIndex.suggest("smi", 10)).extracting(StudentSuggestion::getId).containsExactly(100L);
+        assertThat(suggestionIndex.suggest("jo", 10)).extracting(StudentSuggestion::getId).containsExactly(100L, 200L);
+        verify(studentRepository, never()).findAllById(any());
+    }
+
+    @DisplayName("JUnit test for refresh() re-reading students changed on other replicas")
+    @Test
+    public void givenRemoteChanges_whenRefresh_thenReadStudentsOnce() {
+
+        // given
+        given(studentRepository.findAllById(List.of(100L, 200L)))
+                .willReturn(List.of(johnIlacad.toBuilder().firstName("Christopher").build()));
+
+        // when
+        suggestionIndex.refresh(List.of(100L, 200L));
+
+        // then
+        assertThat(suggestionIndex.suggest("j", 10)).extracting(StudentSuggestion::getId).containsExactly(200L);
+        assertThat(suggestionIndex.suggest("chr", 10)).extracting(StudentSuggestion::getFirstName)
+                .containsExactly("Christopher");
+    }
+
+    @DisplayName("JUnit test for compact() folding changes into the sorted snapshot")
+    @Test
+    public void givenChanges_whenCompact_thenSuggestTheSameStudents() {
+
+        // given
+        suggestionIndex.onStudentChanged(new StudentChangedEvent(150L, StudentChangedEvent.ChangeType.CREATED,
+                Student.builder().id(150L).firstName("Joan").lastName("Baez").email("jbaez@gmail.com").build()));
+        suggestionIndex.onStudentChanged(new StudentChangedEvent(100L, StudentChangedEvent.ChangeType.DELETED));
+        List<StudentSuggestion> beforeCompaction = suggestionIndex.suggest("j", 10);
+
+        // when
+        suggestionIndex.compact();
+
+        // then
+        assertThat(beforeCompaction).extracting(StudentSuggestion::getId).containsExactly(150L, 200L);
+        assertThat(suggestionIndex.suggest("j", 10)).usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyElementsOf(beforeCompaction);
+        assertThat(suggestionIndex.suggest("cena", 10)).isEmpty();
+    }
+
+    @DisplayName("JUnit test for onStudentChanged() removing a deleted student without a database read")
+    @Test
+    public void givenDeletedStudent_whenOnStudentChanged_thenRemoveIt() {
+
+        // when
+        suggestionIndex.onStudentChanged(new StudentChangedEvent(100L, StudentChangedEvent.ChangeType.DELETED));
+
+        // then
+        assertThat(suggestionIndex.suggest("j", 10)).extracting(StudentSuggestion::getId).containsExactly(200L);
+        verify(studentRepository, never()).findAllById(any());
+    }
+}
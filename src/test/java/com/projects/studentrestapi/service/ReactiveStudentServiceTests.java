@@ -0,0 +1,160 @@
+package com.projects.studentrestapi.service;
+
+import com.projects.studentrestapi.dto.StudentField;
+import com.projects.studentrestapi.entity.Student;
+import com.projects.studentrestapi.event.StudentChangedEvent;
+import com.projects.studentrestapi.exception.InvalidRequestException;
+import com.projects.studentrestapi.exception.UserAlreadyExistsException;
+import com.projects.studentrestapi.mapper.StudentMapper;
+import com.projects.studentrestapi.repository.ReactiveStudentRepository;
+import com.projects.studentrestapi.service.impl.ReactiveStudentServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.EnumSet;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReactiveStudentServiceTests {
+
+    @Mock
+    private ReactiveStudentRepository studentRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private StudentMapper studentMapper = Mappers.getMapper(StudentMapper.class);
+
+    @InjectMocks
+    private ReactiveStudentServiceImpl studentService;
+
+    private Student student;
+
+    @BeforeEach
+    public void setup() {
+        student = Student.builder()
+                .id(100L)
+                .firstName("John Christopher")
+                .lastName("Ilacad")
+                .email("johnilacad@sample.com")
+                .build();
+    }
+
+    @DisplayName("JUnit test for saveStudent() method")
+    @Test
+    public void givenStudentObject_whenSaveStudent_thenReturnSavedStudentAndPublishCreated() {
+
+        // given
+        given(studentRepository.insertIfEmailAbsent(student.getFirstName(), student.getLastName(), student.getEmail()))
+                .willReturn(Mono.just(student));
+
+        // when
+        StepVerifier.create(studentService.saveStudent(student))
+
+                // then
+                .expectNext(student)
+                .verifyComplete();
+        ArgumentCaptor<StudentChangedEvent> event = ArgumentCaptor.forClass(StudentChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().getChangeType()).isEqualTo(StudentChangedEvent.ChangeType.CREATED);
+    }
+
+    @DisplayName("JUnit test for saveStudent() method which throws exception")
+    @Test
+    public void givenExistingEmail_whenSaveStudent_thenErrorWithoutEvent() {
+
+        // given
+        given(studentRepository.insertIfEmailAbsent(student.getFirstName(), student.getLastName(), student.getEmail()))
+                .willReturn(Mono.empty());
+
+        // when
+        StepVerifier.create(studentService.saveStudent(student))
+
+                // then
+                .verifyError(UserAlreadyExistsException.class);
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @DisplayName("JUnit test for getStudents() method")
+    @Test
+    public void givenMoreStudentsThanLimit_whenGetStudents_thenReturnPageWithCursor() {
+
+        // given
+        given(studentRepository.findPage(0L, 3)).willReturn(Flux.fromStream(LongStream.rangeClosed(1, 3)
+                .mapToObj(id -> student.toBuilder().id(id).build())));
+
+        // when
+        StepVerifier.create(studentService.getStudents(null, 2, EnumSet.of(StudentField.ID)))
+
+                // then
+                .assertNext(page -> {
+                    assertThat(page.getStudents()).extracting("id").containsExactly(1L, 2L);
+                    assertThat(page.getStudents().get(0).getEmail()).isNull();
+                    assertThat(page.getNextCursor()).isNotNull();
+                })
+                .verifyComplete();
+    }
+
+    @DisplayName("JUnit test for getStudents() method with an invalid limit")
+    @Test
+    public void givenInvalidLimit_whenGetStudents_thenError() {
+
+        // when
+        StepVerifier.create(studentService.getStudents(null, 0, EnumSet.allOf(StudentField.class)))
+
+                // then
+                .verifyError(InvalidRequestException.class);
+        verifyNoInteractions(studentRepository);
+    }
+
+    @DisplayName("JUnit test for updateStudent() method with a taken email")
+    @Test
+    public void givenTakenEmail_whenUpdateStudent_thenErrorWithoutEvent() {
+
+        // given
+        given(studentRepository.update(100L, student.getFirstName(), student.getLastName(), student.getEmail()))
+                .willReturn(Mono.error(new DuplicateKeyException("ux_students_email_lower")));
+
+        // when
+        StepVerifier.create(studentService.updateStudent(100L, student))
+
+                // then
+                .verifyError(UserAlreadyExistsException.class);
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @DisplayName("JUnit test for deleteStudentById() method")
+    @Test
+    public void givenMissingAndExistingStudents_whenDelete_thenPublishOnlyForDeleted() {
+
+        // given
+        given(studentRepository.deleteById(100L)).willReturn(Mono.just(true));
+        given(studentRepository.deleteById(200L)).willReturn(Mono.just(false));
+
+        // when
+        StepVerifier.create(studentService.deleteStudentById(100L).then(studentService.deleteStudentById(200L)))
+
+                // then
+                .verifyComplete();
+        verify(eventPublisher, times(1)).publishEvent(any(StudentChangedEvent.class));
+    }
+}
@@ -0,0 +1,143 @@
+package com.projects.studentrestapi.service;
+
+import com.projects.studentrestapi.entity.Student;
+import com.projects.studentrestapi.exception.UserAlreadyExistsException;
+import com.projects.studentrestapi.repository.StudentRepository;
+import com.projects.studentrestapi.service.impl.StudentCreateCoalescer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class StudentCreateCoalescerTests {
+
+    @Mock
+    private StudentRepository studentRepository;
+
+    private final AtomicLong ids = new AtomicLong(100);
+
+    private final ExecutorService clients = Executors.newFixedThreadPool(16);
+
+    private StudentCreateCoalescer createCoalescer;
+
+    @AfterEach
+    public void tearDown() {
+        clients.shutdownNow();
+        createCoalescer.shutdown();
+    }
+
+    @DisplayName("JUnit test for concurrent creates sharing one insert")
+    @Test
+    public void givenConcurrentCreates_whenCreate_thenBatchInsertsAndCompleteEachCaller() throws Exception {
+
+        // given
+        createCoalescer = new StudentCreateCoalescer(studentRepository, true, 100, Duration.ofMillis(200), 1);
+        given(studentRepository.insertAllIfEmailAbsent(anyList())).willAnswer(invocation -> {
+            List<Student> students = invocation.getArgument(0);
+            return students.stream()
+                    .filter(student -> !student.getEmail().startsWith("taken"))
+                    .map(student -> student.toBuilder().id(ids.incrementAndGet()).build())
+                    .toList();
+        });
+
+        // when
+        List<Future<Student>> results = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            Student student = newStudent((i == 7 ? "taken" : "student") + i + "@gmail.com");
+            results.add(clients.submit(() -> createCoalescer.create(student)));
+        }
+
+        // then
+        for (int i = 0; i < 16; i++) {
+            if (i == 7) {
+                Future<Student> taken = results.get(i);
+                ExecutionException exception = assertThrows(ExecutionException.class, taken::get);
+                assertThat(exception.getCause()).isInstanceOf(UserAlreadyExistsException.class);
+            } else {
+                Student saved = results.get(i).get();
+                assertThat(saved.getEmail()).isEqualTo("student" + i + "@gmail.com");
+                assertThat(saved.getId()).isGreaterThan(100);
+            }
+        }
+        verify(studentRepository, atMost(3)).insertAllIfEmailAbsent(anyList());
+    }
+
+    @DisplayName("JUnit test for creates of the same email in one batch")
+    @Test
+    public void givenSameEmailTwice_whenCreate_thenOnlyOneCallerSucceeds() throws Exception {
+
+        // given
+        createCoalescer = new StudentCreateCoalescer(studentRepository, true, 2, Duration.ofSeconds(5), 1);
+        given(studentRepository.insertAllIfEmailAbsent(anyList())).willAnswer(invocation -> {
+            List<Student> students = invocation.getArgument(0);
+            return students.stream().map(student -> student.toBuilder().id(ids.incrementAndGet()).build()).toList();
+        });
+
+        // when
+        Future<Student> first = clients.submit(() -> createCoalescer.create(newStudent("jcena@gmail.com")));
+        Future<Student> second = clients.submit(() -> createCoalescer.create(newStudent("JCena@gmail.com")));
+
+        // then
+        List<Object> outcomes = new ArrayList<>();
+        for (Future<Student> result : List.of(first, second)) {
+            try {
+                outcomes.add(result.get());
+            } catch (ExecutionException exception) {
+                outcomes.add(exception.getCause());
+            }
+        }
+        assertThat(outcomes).hasOnlyElementsOfTypes(Student.class, UserAlreadyExistsException.class)
+                .filteredOn(UserAlreadyExistsException.class::isInstance).hasSize(1);
+        verify(studentRepository).insertAllIfEmailAbsent(argThat(students -> students.size() == 1));
+    }
+
+    @DisplayName("JUnit test for a batch failing on one bad student")
+    @Test
+    public void givenInvalidStudentInBatch_whenCreate_thenRetryOneByOne() throws Exception {
+
+        // given
+        createCoalescer = new StudentCreateCoalescer(studentRepository, true, 2, Duration.ofSeconds(5), 1);
+        given(studentRepository.insertAllIfEmailAbsent(anyList())).willAnswer(invocation -> {
+            List<Student> students = invocation.getArgument(0);
+            if (students.stream().anyMatch(student -> student.getFirstName() == null)) {
+                throw new DataIntegrityViolationException("first_name must not be null");
+            }
+            return students.stream().map(student -> student.toBuilder().id(ids.incrementAndGet()).build()).toList();
+        });
+        Student invalid = newStudent("invalid@gmail.com");
+        invalid.setFirstName(null);
+
+        // when
+        Future<Student> valid = clients.submit(() -> createCoalescer.create(newStudent("valid@gmail.com")));
+        Future<Student> failed = clients.submit(() -> createCoalescer.create(invalid));
+
+        // then
+        assertThat(valid.get().getEmail()).isEqualTo("valid@gmail.com");
+        ExecutionException exception = assertThrows(ExecutionException.class, failed::get);
+        assertThat(exception.getCause()).isInstanceOf(DataIntegrityViolationException.class);
+        verify(studentRepository, times(3)).insertAllIfEmailAbsent(anyList());
+    }
+
+    private static Student newStudent(String email) {
+        return Student.builder().firstName("John").lastName("Cena").email(email).build();
+    }
+}
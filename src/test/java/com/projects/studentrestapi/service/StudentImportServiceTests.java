@@ -0,0 +1,83 @@
+package com.projects.studentrestapi.service;
+
+import com.projects.studentrestapi.dto.StudentImportStatus;
+import com.projects.studentrestapi.exception.InvalidRequestException;
+import com.projects.studentrestapi.exception.ResourceNotFoundException;
+import com.projects.studentrestapi.imports.StudentCsvImporter;
+import com.projects.studentrestapi.imports.StudentImportJob;
+import com.projects.studentrestapi.service.impl.StudentImportServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class StudentImportServiceTests {
+
+    @Mock
+    private StudentCsvImporter studentCsvImporter;
+
+    private StudentImportService studentImportService;
+
+    @BeforeEach
+    public void setup() {
+        studentImportService = new StudentImportServiceImpl(studentCsvImporter, Duration.ofHours(1));
+    }
+
+    @DisplayName("JUnit test for startImport() method")
+    @Test
+    public void givenCsvFile_whenStartImport_thenQueueJobWithCopyOfFile() throws Exception {
+
+        // given
+        String csv = "firstName,lastName,email\nJohn,Cena,jcena@gmail.com\n";
+        MockMultipartFile file = new MockMultipartFile("file", "students.csv", "text/csv",
+                csv.getBytes(StandardCharsets.UTF_8));
+
+        // when
+        StudentImportStatus status = studentImportService.startImport(file);
+
+        // then
+        assertThat(status.getState()).isEqualTo(StudentImportStatus.State.QUEUED);
+        assertThat(studentImportService.getImport(status.getId()).getId()).isEqualTo(status.getId());
+        ArgumentCaptor<Path> path = ArgumentCaptor.forClass(Path.class);
+        verify(studentCsvImporter).submit(any(StudentImportJob.class), path.capture());
+        assertThat(Files.readString(path.getValue())).isEqualTo(csv);
+        Files.delete(path.getValue());
+    }
+
+    @DisplayName("JUnit test for startImport() method with an empty file")
+    @Test
+    public void givenEmptyFile_whenStartImport_thenThrowsException() {
+
+        // given
+        MockMultipartFile file = new MockMultipartFile("file", new byte[0]);
+
+        // when
+        assertThrows(InvalidRequestException.class, () -> studentImportService.startImport(file));
+
+        // then
+        verify(studentCsvImporter, never()).submit(any(), any());
+    }
+
+    @DisplayName("JUnit test for getImport() method with an unknown id")
+    @Test
+    public void givenUnknownId_whenGetImport_thenThrowsException() {
+
+        // when
+        assertThrows(ResourceNotFoundException.class, () -> studentImportService.getImport("unknown"));
+    }
+}
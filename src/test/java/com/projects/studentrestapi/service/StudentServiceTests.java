@@ -1,26 +1,58 @@
 package com.projects.studentrestapi.service;
 
+import com.projects.studentrestapi.cache.StudentCache;
+import com.projects.studentrestapi.dto.StudentDto;
+import com.projects.studentrestapi.dto.StudentField;
+import com.projects.studentrestapi.dto.StudentLookupResponse;
+import com.projects.studentrestapi.dto.StudentPageResponse;
+import com.projects.studentrestapi.dto.StudentPatchRequest;
+import com.projects.studentrestapi.dto.StudentSearchResponse;
+import com.projects.studentrestapi.dto.StudentSuggestion;
 import com.projects.studentrestapi.entity.Student;
+import com.projects.studentrestapi.event.StudentChangedEvent;
+import com.projects.studentrestapi.exception.InvalidRequestException;
+import com.projects.studentrestapi.exception.ResourceNotFoundException;
 import com.projects.studentrestapi.exception.UserAlreadyExistsException;
+import com.projects.studentrestapi.exception.VersionConflictException;
+import com.projects.studentrestapi.mapper.StudentMapper;
 import com.projects.studentrestapi.repository.StudentRepository;
+import com.projects.studentrestapi.search.StudentSuggestionIndex;
+import com.projects.studentrestapi.service.impl.StudentCreateCoalescer;
 import com.projects.studentrestapi.service.impl.StudentServiceImpl;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
 import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
-import static org.mockito.BDDMockito.willDoNothing;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,6 +61,24 @@ public class StudentServiceTests {
     @Mock
     private StudentRepository studentRepository;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private StudentCache studentCache = new StudentCache(100, Duration.ofMinutes(1));
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private StudentSuggestionIndex suggestionIndex;
+
+    @Spy
+    private StudentMapper studentMapper = Mappers.getMapper(StudentMapper.class);
+
+    @Mock
+    private StudentCreateCoalescer createCoalescer;
+
     @InjectMocks
     private StudentServiceImpl studentService;
 
@@ -48,14 +98,15 @@ public class StudentServiceTests {
     public void givenStudentObject_whenSaveStudent_thenReturnStudentObjectEntity() {
 
         // given
-        given(studentRepository.findByEmail(student.getEmail())).willReturn(Optional.empty());
-        given(studentRepository.save(student)).willReturn(student);
+        given(studentRepository.insertIfEmailAbsent(student.getFirstName(), student.getLastName(), student.getEmail()))
+                .willReturn(Optional.of(student));
 
         // when
         Student savedStudent = studentService.saveStudent(student);
 
         // then
         assertThat(savedStudent).isNotNull();
+        verify(studentRepository, never()).findByEmail(anyString());
     }
 
     @DisplayName("JUnit test for saveStudent() method which throws exception")
@@ -63,7 +114,8 @@ public class StudentServiceTests {
     public void givenExistingEmail_whenSaveStudent_thenThrowsException() {
 
         // given
-        given(studentRepository.findByEmail(student.getEmail())).willReturn(Optional.of(student));
+        given(studentRepository.insertIfEmailAbsent(student.getFirstName(), student.getLastName(), student.getEmail()))
+                .willReturn(Optional.empty());
 
         // when
         assertThrows(UserAlreadyExistsException.class, () -> studentService.saveStudent(student));
@@ -72,6 +124,59 @@ public class StudentServiceTests {
         verify(studentRepository, never()).save(any(Student.class));
     }
 
+    @DisplayName("JUnit test for saveStudent() method with write coalescing")
+    @Test
+    public void givenCoalescingEnabled_whenSaveStudent_thenCreateThroughCoalescer() {
+
+        // given
+        given(createCoalescer.isEnabled()).willReturn(true);
+        given(createCoalescer.create(student)).willReturn(student);
+
+        // when
+        Student savedStudent = studentService.saveStudent(student);
+
+        // then
+        assertThat(savedStudent).isSameAs(student);
+        verify(studentRepository, never()).insertIfEmailAbsent(anyString(), anyString(), anyString());
+        verify(eventPublisher).publishEvent(any(StudentChangedEvent.class));
+    }
+
+    @DisplayName("JUnit test for saveStudents() method")
+    @Test
+    public void givenStudentList_whenSaveStudents_thenCheckEmailsOnceAndSaveAll() {
+
+        // given
+        Student student1 = Student.builder().firstName("John").lastName("Cena").email("jc@gmail.com").build();
+        List<Student> students = List.of(student, student1);
+        given(studentRepository.findExistingEmails(anyCollection())).willReturn(Collections.emptyList());
+        given(studentRepository.saveAllAndFlush(students)).willReturn(students);
+
+        // when
+        List<Student> savedStudents = studentService.saveStudents(students);
+
+        // then
+        assertThat(savedStudents).hasSize(2);
+        verify(studentRepository, times(1)).findExistingEmails(anyCollection());
+        verify(studentRepository, never()).findByEmail(anyString());
+    }
+
+    @DisplayName("JUnit test for saveStudents() method which throws exception")
+    @Test
+    public void givenExistingOrRepeatedEmail_whenSaveStudents_thenThrowsException() {
+
+        // given
+        Student repeated = Student.builder().firstName("John").lastName("Cena").email(student.getEmail().toUpperCase()).build();
+        Student student1 = Student.builder().firstName("John").lastName("Cena").email("jc@gmail.com").build();
+        given(studentRepository.findExistingEmails(anyCollection())).willReturn(List.of(student1.getEmail()));
+
+        // when
+        assertThrows(UserAlreadyExistsException.class, () -> studentService.saveStudents(List.of(student, repeated)));
+        assertThrows(UserAlreadyExistsException.class, () -> studentService.saveStudents(List.of(student, student1)));
+
+        // then
+        verify(studentRepository, never()).saveAllAndFlush(anyList());
+    }
+
     @DisplayName("JUnit test for getAllStudents() method [Positive Scenario]")
     @Test
     public void givenStudentList_whenGetAllStudents_thenReturnStudentList() {
@@ -109,6 +214,135 @@ public class StudentServiceTests {
         assertThat(students.size()).isEqualTo(0);
     }
 
+    @DisplayName("JUnit test for getStudents() method [First page]")
+    @Test
+    public void givenMoreStudentsThanLimit_whenGetStudents_thenReturnPageWithNextCursor() {
+
+        // given
+        StudentDto student1 = new StudentDto(100L, "John", "Cena", "jc@gmail.com", 0L, null);
+        StudentDto student2 = new StudentDto(101L, "Paul", "John", "pj@gmail.com", 0L, null);
+        given(studentRepository.findPage(0L, 2, EnumSet.allOf(StudentField.class)))
+                .willReturn(List.of(student1, student2));
+
+        // when
+        StudentPageResponse page = studentService.getStudents(null, 1, EnumSet.allOf(StudentField.class));
+
+        // then
+        assertThat(page.getStudents()).containsExactly(student1);
+        assertThat(page.getNextCursor()).isNotNull();
+    }
+
+    @DisplayName("JUnit test for getStudents() method [Next page]")
+    @Test
+    public void givenCursor_whenGetStudents_thenSeekPastCursorId() {
+
+        // given
+        StudentDto student1 = new StudentDto(100L, "John", "Cena", "jc@gmail.com", 0L, null);
+        StudentDto student2 = new StudentDto(101L, "Paul", "John", "pj@gmail.com", 0L, null);
+        given(studentRepository.findPage(0L, 2, EnumSet.allOf(StudentField.class)))
+                .willReturn(List.of(student1, student2));
+        String cursor = studentService.getStudents(null, 1, EnumSet.allOf(StudentField.class)).getNextCursor();
+        given(studentRepository.findPage(100L, 2, EnumSet.allOf(StudentField.class)))
+                .willReturn(List.of(student2));
+
+        // when
+        StudentPageResponse page = studentService.getStudents(cursor, 1, EnumSet.allOf(StudentField.class));
+
+        // then
+        assertThat(page.getStudents()).containsExactly(student2);
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @DisplayName("JUnit test for getStudents() method with a sparse fieldset")
+    @Test
+    public void givenFields_whenGetStudents_thenSelectIdForCursorButReturnOnlyRequestedFields() {
+
+        // given
+        given(studentRepository.findPage(0L, 2, EnumSet.of(StudentField.ID, StudentField.EMAIL, StudentField.VERSION)))
+                .willReturn(List.of(new StudentDto(100L, null, null, "jc@gmail.com", 0L, null),
+                        new StudentDto(101L, null, null, "pj@gmail.com", 0L, null)));
+
+        // when
+        StudentPageResponse page = studentService.getStudents(null, 1, EnumSet.of(StudentField.EMAIL));
+
+        // then
+        assertThat(page.getStudents()).singleElement().satisfies(student -> {
+            assertThat(student.getId()).isNull();
+            assertThat(student.getEmail()).isEqualTo("jc@gmail.com");
+        });
+        assertThat(page.getNextCursor()).isNotNull();
+    }
+
+    @DisplayName("JUnit test for getStudentsVersionTag() method")
+    @Test
+    public void givenChangedVersion_whenGetStudentsVersionTag_thenTagChanges() {
+
+        // given
+        Set<StudentField> versionFields = EnumSet.of(StudentField.ID, StudentField.VERSION);
+        given(studentRepository.findPage(0L, 11, versionFields))
+                .willReturn(List.of(new StudentDto(100L, null, null, null, 0L, null)))
+                .willReturn(List.of(new StudentDto(100L, null, null, null, 0L, null)))
+                .willReturn(List.of(new StudentDto(100L, null, null, null, 1L, null)));
+
+        // when
+        String first = studentService.getStudentsVersionTag(null, 10);
+        String unchanged = studentService.getStudentsVersionTag(null, 10);
+        String changed = studentService.getStudentsVersionTag(null, 10);
+
+        // then
+        assertThat(unchanged).isEqualTo(first);
+        assertThat(changed).isNotEqualTo(first);
+        verify(studentRepository, times(3)).findPage(0L, 11, versionFields);
+    }
+
+    @DisplayName("JUnit test for getStudents() method tagging the page with its versions")
+    @Test
+    public void givenPage_whenGetStudents_thenVersionTagMatchesGetStudentsVersionTag() {
+
+        // given
+        List<StudentDto> rows = List.of(new StudentDto(100L, null, null, null, 3L, null));
+        given(studentRepository.findPage(0L, 11, EnumSet.allOf(StudentField.class))).willReturn(rows);
+        given(studentRepository.findPage(0L, 11, EnumSet.of(StudentField.ID, StudentField.VERSION))).willReturn(rows);
+
+        // when
+        StudentPageResponse page = studentService.getStudents(null, 10, EnumSet.allOf(StudentField.class));
+
+        // then
+        assertThat(page.getVersionTag()).isEqualTo(studentService.getStudentsVersionTag(null, 10));
+    }
+
+    @DisplayName("JUnit test for getStudents() method which throws exception")
+    @Test
+    public void givenInvalidCursorOrLimit_whenGetStudents_thenThrowsException() {
+
+        // when
+        assertThrows(InvalidRequestException.class,
+                () -> studentService.getStudents("not-a-cursor", 10, EnumSet.allOf(StudentField.class)));
+        assertThrows(InvalidRequestException.class,
+                () -> studentService.getStudents(null, 0, EnumSet.allOf(StudentField.class)));
+
+        // then
+        verify(studentRepository, never()).findPage(anyLong(), anyInt(), any());
+    }
+
+    @DisplayName("JUnit test for exportStudents() method")
+    @Test
+    public void givenStudentStream_whenExportStudents_thenConsumeAndDetachEachStudent() {
+
+        // given
+        Student student1 = Student.builder().id(101L).firstName("John").lastName("Cena").email("jc@gmail.com").build();
+        given(studentRepository.streamAll()).willReturn(Stream.of(student, student1));
+        List<Student> exported = new ArrayList<>();
+
+        // when
+        studentService.exportStudents(exported::add);
+
+        // then
+        assertThat(exported).containsExactly(student, student1);
+        verify(entityManager).detach(student);
+        verify(entityManager).detach(student1);
+    }
+
     @DisplayName("JUnit test for getStudentById() method")
     @Test
     public void givenStudentId_whenFindById_thenReturnStudentObject() {
@@ -120,16 +354,89 @@ public class StudentServiceTests {
         Optional<Student> existingStudent = studentService.getStudentById(100L);
 
         // then
-        assertThat(existingStudent.get()).isEqualTo(student);
+        assertThat(existingStudent.get()).usingRecursiveComparison().isEqualTo(student);
         assertThat(existingStudent).isNotNull();
     }
 
+    @DisplayName("JUnit test for getStudentById() method served from cache")
+    @Test
+    public void givenCachedStudent_whenGetStudentByIdTwice_thenLoadFromRepositoryOnce() {
+
+        // given
+        given(studentRepository.findById(100L)).willReturn(Optional.of(student));
+
+        // when
+        Student first = studentService.getStudentById(100L).get();
+        first.setFirstName("Changed by caller");
+        Student second = studentService.getStudentById(100L).get();
+
+        // then
+        assertThat(second.getFirstName()).isEqualTo(student.getFirstName());
+        verify(studentRepository, times(1)).findById(100L);
+    }
+
+    @DisplayName("JUnit test for getStudentById() method under a thundering herd")
+    @Test
+    public void givenConcurrentLookupsOfSameId_whenGetStudentById_thenQueryRepositoryOnce() throws Exception {
+
+        // given
+        CountDownLatch release = new CountDownLatch(1);
+        given(studentRepository.findById(100L)).willAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return Optional.of(student);
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(50);
+
+        // when
+        List<Future<Optional<Student>>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < 50; i++) {
+                results.add(executor.submit(() -> studentService.getStudentById(100L)));
+            }
+            Thread.sleep(200);
+            release.countDown();
+            for (Future<Optional<Student>> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isPresent();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // then
+        verify(studentRepository, times(1)).findById(100L);
+    }
+
+    @DisplayName("JUnit test for getStudentByEmail() method")
+    @Test
+    public void givenStudentEmail_whenGetStudentByEmail_thenReturnStudentObject() {
+
+        // given
+        given(studentRepository.findByEmail(student.getEmail())).willReturn(Optional.of(student));
+
+        // when
+        Student existingStudent = studentService.getStudentByEmail(student.getEmail());
+
+        // then
+        assertThat(existingStudent.getEmail()).isEqualTo(student.getEmail());
+    }
+
+    @DisplayName("JUnit test for getStudentByEmail() method which throws exception")
+    @Test
+    public void givenUnknownEmail_whenGetStudentByEmail_thenThrowsException() {
+
+        // given
+        given(studentRepository.findByEmail("unknown@gmail.com")).willReturn(Optional.empty());
+
+        // when
+        assertThrows(ResourceNotFoundException.class, () -> studentService.getStudentByEmail("unknown@gmail.com"));
+    }
+
     @DisplayName("JUnit test for updateStudent() method")
     @Test
     public void givenStudentObject_whenUpdateStudent_thenReturnUpdatedStudent() {
 
         // given
-        given(studentRepository.save(student)).willReturn(student);
+        given(studentRepository.saveAndFlush(student)).willReturn(student);
         student.setEmail("johnchristopherilacad27@gmail.com");
         student.setFirstName("John Cena");
 
@@ -139,6 +446,202 @@ public class StudentServiceTests {
         // then
         assertThat(updatedStudent.getEmail()).isEqualTo("johnchristopherilacad27@gmail.com");
         assertThat(updatedStudent.getFirstName()).isEqualTo("John Cena");
+        ArgumentCaptor<StudentChangedEvent> event = ArgumentCaptor.forClass(StudentChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().getChangeType()).isEqualTo(StudentChangedEvent.ChangeType.UPDATED);
+    }
+
+    @DisplayName("JUnit test for updateStudent() method which throws exception")
+    @Test
+    public void givenTakenEmail_whenUpdateStudent_thenThrowsException() {
+
+        // given
+        given(studentRepository.saveAndFlush(student)).willThrow(DataIntegrityViolationException.class);
+
+        // when
+        assertThrows(UserAlreadyExistsException.class, () -> studentService.updateStudent(student));
+    }
+
+    @DisplayName("JUnit test for searchStudents() method")
+    @Test
+    public void givenLastNamePrefix_whenSearchStudents_thenReturnSliceInIndexOrder() {
+
+        // given
+        given(studentRepository.searchByNamePrefix("Ila", "", 1, 2)).willReturn(List.of(student, student));
+
+        // when
+        StudentSearchResponse response = studentService.searchStudents(null, " Ila ", 1, 1);
+
+        // then
+        assertThat(response.getStudents()).extracting(StudentDto::getEmail).containsExactly(student.getEmail());
+        assertThat(response.getPage()).isEqualTo(1);
+        assertThat(response.isHasNext()).isTrue();
+    }
+
+    @DisplayName("JUnit test for searchStudents() method without names")
+    @Test
+    public void givenNoNames_whenSearchStudents_thenThrowsException() {
+
+        // when
+        assertThrows(InvalidRequestException.class, () -> studentService.searchStudents(" ", null, 0, 10));
+
+        // then
+        verify(studentRepository, never()).searchByNamePrefix(any(), any(), anyInt(), anyInt());
+    }
+
+    @DisplayName("JUnit test for full-text searchStudents() method")
+    @Test
+    public void givenQuery_whenSearchStudents_thenReturnPageAndWhetherMoreExist() {
+
+        // given
+        List<Student> students = List.of(student, student.toBuilder().build(), student.toBuilder().build());
+        given(studentRepository.searchFullText("john ilac", 4, 3)).willReturn(students);
+
+        // when
+        StudentSearchResponse response = studentService.searchStudents(" john ilac ", 2, 2);
+
+        // then
+        assertThat(response.getStudents()).hasSize(2);
+        assertThat(response.getPage()).isEqualTo(2);
+        assertThat(response.isHasNext()).isTrue();
+    }
+
+    @DisplayName("JUnit test for full-text searchStudents() method beyond the deepest page")
+    @Test
+    public void givenPageTooDeep_whenSearchStudents_thenThrowsException() {
+
+        // when
+        assertThrows(InvalidRequestException.class, () -> studentService.searchStudents("john", 100, 100));
+
+        // then
+        verify(studentRepository, never()).searchFullText(any(), anyInt(), anyInt());
+    }
+
+    @DisplayName("JUnit test for suggestStudents() method")
+    @Test
+    public void givenQuery_whenSuggestStudents_thenServeFromIndex() {
+
+        // given
+        List<StudentSuggestion> suggestions = List.of(new StudentSuggestion(100L, "John", "Cena", "jcena@gmail.com"));
+        given(suggestionIndex.suggest("jo", 10)).willReturn(suggestions);
+
+        // when
+        List<StudentSuggestion> result = studentService.suggestStudents("jo", 10);
+
+        // then
+        assertThat(result).isEqualTo(suggestions);
+        verifyNoInteractions(studentRepository);
+    }
+
+    @DisplayName("JUnit test for suggestStudents() method with an invalid request")
+    @Test
+    public void givenBlankQueryOrLimitTooLarge_whenSuggestStudents_thenThrowsException() {
+
+        // when
+        assertThrows(InvalidRequestException.class, () -> studentService.suggestStudents(" ", 10));
+        assertThrows(InvalidRequestException.class, () -> studentService.suggestStudents("jo", 51));
+
+        // then
+        verifyNoInteractions(suggestionIndex);
+    }
+
+    @DisplayName("JUnit test for getStudentsByIds() method")
+    @Test
+    public void givenIds_whenGetStudentsByIds_thenReturnStudentsInRequestOrderAndMissingIds() {
+
+        // given
+        Student otherStudent = Student.builder()
+                .id(200L)
+                .firstName("John")
+                .lastName("Cena")
+                .email("jcena@gmail.com")
+                .build();
+        student.setId(100L);
+        given(studentRepository.findAllById(any())).willReturn(List.of(student, otherStudent));
+
+        // when
+        StudentLookupResponse response = studentService.getStudentsByIds(List.of(200L, 300L, 100L, 200L));
+
+        // then
+        assertThat(response.getStudents()).extracting(StudentDto::getId).containsExactly(200L, 100L);
+        assertThat(response.getMissingIds()).containsExactly(300L);
+        verify(studentRepository, times(1)).findAllById(any());
+        verify(studentRepository, never()).findById(anyLong());
+    }
+
+    @DisplayName("JUnit test for getStudentsByIds() method with too many ids")
+    @Test
+    public void givenTooManyIds_whenGetStudentsByIds_thenThrowsException() {
+
+        // given
+        List<Long> ids = LongStream.rangeClosed(1, 1001).boxed().toList();
+
+        // when
+        assertThrows(InvalidRequestException.class, () -> studentService.getStudentsByIds(ids));
+
+        // then
+        verify(studentRepository, never()).findAllById(any());
+    }
+
+    @DisplayName("JUnit test for patchStudent() method")
+    @Test
+    public void givenChangedFieldsAndVersion_whenPatchStudent_thenUpdateWithoutLoading() {
+
+        // given
+        StudentPatchRequest patch = new StudentPatchRequest(null, null, "jcena@gmail.com", 3L);
+        given(studentRepository.updateFields(100L, 3L, null, null, "jcena@gmail.com")).willReturn(1);
+
+        // when
+        long version = studentService.patchStudent(100L, patch);
+
+        // then
+        assertThat(version).isEqualTo(4L);
+        verify(studentRepository, never()).findById(anyLong());
+        verify(studentRepository, never()).existsById(anyLong());
+        verify(eventPublisher).publishEvent(any(StudentChangedEvent.class));
+    }
+
+    @DisplayName("JUnit test for patchStudent() method with a stale version")
+    @Test
+    public void givenStaleVersion_whenPatchStudent_thenThrowsVersionConflict() {
+
+        // given
+        StudentPatchRequest patch = new StudentPatchRequest("John", null, null, 1L);
+        given(studentRepository.updateFields(100L, 1L, "John", null, null)).willReturn(0);
+        given(studentRepository.existsById(100L)).willReturn(true);
+
+        // when
+        assertThrows(VersionConflictException.class, () -> studentService.patchStudent(100L, patch));
+
+        // then
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @DisplayName("JUnit test for patchStudent() method with an unknown id")
+    @Test
+    public void givenUnknownId_whenPatchStudent_thenThrowsNotFound() {
+
+        // given
+        StudentPatchRequest patch = new StudentPatchRequest("John", null, null, 1L);
+        given(studentRepository.updateFields(200L, 1L, "John", null, null)).willReturn(0);
+        given(studentRepository.existsById(200L)).willReturn(false);
+
+        // when
+        assertThrows(ResourceNotFoundException.class, () -> studentService.patchStudent(200L, patch));
+    }
+
+    @DisplayName("JUnit test for patchStudent() method with an invalid request")
+    @Test
+    public void givenMissingVersionOrNoChanges_whenPatchStudent_thenThrowsException() {
+
+        // when
+        assertThrows(InvalidRequestException.class,
+                () -> studentService.patchStudent(100L, new StudentPatchRequest("John", null, null, null)));
+        assertThrows(InvalidRequestException.class,
+                () -> studentService.patchStudent(100L, new StudentPatchRequest(null, null, null, 1L)));
+
+        // then
+        verify(studentRepository, never()).updateFields(anyLong(), anyLong(), any(), any(), any());
     }
 
     @DisplayName("JUnit test for deleteStudentById() method")
@@ -147,12 +650,63 @@ public class StudentServiceTests {
 
         // given
         long studentId = 100L;
-        willDoNothing().given(studentRepository).deleteById(studentId);
+        given(studentRepository.deleteByIds(List.of(studentId))).willReturn(List.of(studentId));
+
+        // when
+        studentService.deleteStudentById(studentId);
+
+        // then
+        verify(studentRepository, times(1)).deleteByIds(List.of(studentId));
+        verify(eventPublisher).publishEvent(any(StudentChangedEvent.class));
+    }
+
+    @DisplayName("JUnit test for deleteStudentById() method with a missing student")
+    @Test
+    public void givenMissingStudentId_whenDeleteStudentById_thenPublishNothing() {
+
+        // given
+        long studentId = 100L;
+        given(studentRepository.deleteByIds(List.of(studentId))).willReturn(List.of());
 
         // when
         studentService.deleteStudentById(studentId);
 
         // then
-        verify(studentRepository, times(1)).deleteById(studentId);
+        verify(studentRepository, times(1)).deleteByIds(List.of(studentId));
+        verify(eventPublisher, never()).publishEvent(any(StudentChangedEvent.class));
+    }
+
+    @DisplayName("JUnit test for deleteStudentsByIds() method")
+    @Test
+    public void givenIds_whenDeleteStudentsByIds_thenDeleteInChunksAndReturnCount() {
+
+        // given
+        List<Long> ids = new ArrayList<>(LongStream.rangeClosed(1, 2500).boxed().toList());
+        ids.add(1L);
+        given(studentRepository.deleteByIds(any())).willAnswer(invocation -> {
+            List<Long> chunk = invocation.getArgument(0);
+            // Pretend every odd id existed
+            return chunk.stream().filter(id -> id % 2 == 1).toList();
+        });
+
+        // when
+        int deleted = studentService.deleteStudentsByIds(ids);
+
+        // then
+        assertThat(deleted).isEqualTo(1250);
+        verify(studentRepository, times(3)).deleteByIds(any());
+        verify(studentRepository, never()).deleteById(anyLong());
+        verify(eventPublisher, times(1250)).publishEvent(any(StudentChangedEvent.class));
+    }
+
+    @DisplayName("JUnit test for deleteStudentsByIds() method with no ids")
+    @Test
+    public void givenNoIds_whenDeleteStudentsByIds_thenThrowsException() {
+
+        // when
+        assertThrows(InvalidRequestException.class, () -> studentService.deleteStudentsByIds(List.of()));
+
+        // then
+        verify(studentRepository, never()).deleteByIds(any());
     }
 }
@@ -0,0 +1,162 @@
+package com.projects.studentrestapi.service;
+
+import com.projects.studentrestapi.dto.StudentChange;
+import com.projects.studentrestapi.dto.StudentChangesResponse;
+import com.projects.studentrestapi.dto.StudentDto;
+import com.projects.studentrestapi.entity.Student;
+import com.projects.studentrestapi.exception.InvalidRequestException;
+import com.projects.studentrestapi.exception.SyncTokenExpiredException;
+import com.projects.studentrestapi.repository.StudentRepository;
+import com.projects.studentrestapi.service.impl.StudentSyncServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class StudentSyncServiceTests {
+
+    @Mock
+    private StudentRepository studentRepository;
+
+    private StudentSyncService studentSyncService;
+
+    private Instant changedAt;
+
+    @BeforeEach
+    public void setup() {
+        studentSyncService = new StudentSyncServiceImpl(studentRepository, Duration.ofSeconds(5), Duration.ofDays(30));
+        changedAt = Instant.parse("2024-03-01T10:15:30.123456Z");
+    }
+
+    @DisplayName("JUnit test for a settle window that writes can outlast")
+    @Test
+    public void givenSettleWindowNotAboveWriteTimeout_whenCreateService_thenThrowsException() {
+
+        // when
+        assertThrows(IllegalStateException.class, () -> new StudentSyncServiceImpl(studentRepository,
+                Duration.ofSeconds(Student.WRITE_TIMEOUT_SECONDS), Duration.ofDays(30)));
+    }
+
+    @DisplayName("JUnit test for getChanges() method starting from the beginning")
+    @Test
+    public void givenNoSinceToken_whenGetChanges_thenReadFromTheBeginning() {
+
+        // given
+        given(studentRepository.findChanges(any(), anyLong(), any(), any(), anyInt())).willReturn(List.of(
+                new StudentChange(100L, changedAt, new StudentDto(100L, "John", "Cena", "jcena@gmail.com", 0L, changedAt)),
+                new StudentChange(101L, changedAt, null)));
+
+        // when
+        StudentChangesResponse response = studentSyncService.getChanges(null, 10);
+
+        // then
+        assertThat(response.getStudents()).extracting(StudentDto::getId).containsExactly(100L);
+        assertThat(response.getDeletedIds()).containsExactly(101L);
+        assertThat(response.isHasMore()).isFalse();
+        assertThat(response.getWatermark()).isNotBlank();
+        ArgumentCaptor<Instant> until = ArgumentCaptor.forClass(Instant.class);
+        ArgumentCaptor<Instant> deletedFrom = ArgumentCaptor.forClass(Instant.class);
+        verify(studentRepository).findChanges(eq(Instant.EPOCH), eq(0L), until.capture(), deletedFrom.capture(), eq(11));
+        // Held back by the settle window, and no tombstones from before the sync started
+        assertThat(until.getValue()).isBefore(Instant.now().minusSeconds(4));
+        assertThat(deletedFrom.getValue()).isEqualTo(until.getValue());
+    }
+
+    @DisplayName("JUnit test for getChanges() method continuing from the last change of a full page")
+    @Test
+    public void givenFullPage_whenGetChanges_thenContinueAfterLastChange() {
+
+        // given
+        given(studentRepository.findChanges(any(), anyLong(), any(), any(), anyInt())).willReturn(List.of(
+                new StudentChange(100L, changedAt, null),
+                new StudentChange(105L, changedAt, null),
+                new StudentChange(102L, changedAt.plusMillis(1), null)));
+        StudentChangesResponse firstPage = studentSyncService.getChanges(null, 2);
+
+        // when
+        studentSyncService.getChanges(firstPage.getWatermark(), 2);
+
+        // then
+        assertThat(firstPage.isHasMore()).isTrue();
+        assertThat(firstPage.getDeletedIds()).containsExactly(100L, 105L);
+        verify(studentRepository).findChanges(eq(changedAt), eq(105L), any(), any(), eq(3));
+    }
+
+    @DisplayName("JUnit test for getChanges() method once caught up")
+    @Test
+    public void givenCaughtUp_whenGetChanges_thenNextSyncStartsAtSettleWindow() {
+
+        // given
+        given(studentRepository.findChanges(any(), anyLong(), any(), any(), anyInt())).willReturn(List.of());
+        StudentChangesResponse caughtUp = studentSyncService.getChanges(null, 10);
+
+        // when
+        studentSyncService.getChanges(caughtUp.getWatermark(), 10);
+
+        // then
+        ArgumentCaptor<Instant> afterTime = ArgumentCaptor.forClass(Instant.class);
+        verify(studentRepository, times(2)).findChanges(afterTime.capture(), eq(0L), any(), any(), eq(11));
+        assertThat(afterTime.getAllValues().get(1)).isAfter(Instant.now().minusSeconds(60));
+    }
+
+    @DisplayName("JUnit test for getChanges() method with a token older than the tombstone retention")
+    @Test
+    public void givenExpiredToken_whenGetChanges_thenThrowsException() {
+
+        // given
+        Instant old = Instant.now().minus(Duration.ofDays(31));
+        String token = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((old + ",100," + old).getBytes(StandardCharsets.UTF_8));
+
+        // when
+        assertThrows(SyncTokenExpiredException.class, () -> studentSyncService.getChanges(token, 10));
+
+        // then
+        verify(studentRepository, never()).findChanges(any(), anyLong(), any(), any(), anyInt());
+    }
+
+    @DisplayName("JUnit test for getChanges() method with an invalid request")
+    @Test
+    public void givenInvalidTokenOrLimit_whenGetChanges_thenThrowsException() {
+
+        // when
+        assertThrows(InvalidRequestException.class, () -> studentSyncService.getChanges("not-a-token", 10));
+        assertThrows(InvalidRequestException.class, () -> studentSyncService.getChanges(null, 0));
+        assertThrows(InvalidRequestException.class, () -> studentSyncService.getChanges(null, 1001));
+
+        // then
+        verify(studentRepository, never()).findChanges(any(), anyLong(), any(), any(), anyInt());
+    }
+
+    @DisplayName("JUnit test for purgeTombstones() method")
+    @Test
+    public void whenPurgeTombstones_thenDeleteTombstonesOlderThanRetention() {
+
+        // when
+        studentSyncService.purgeTombstones();
+
+        // then
+        ArgumentCaptor<Instant> cutoff = ArgumentCaptor.forClass(Instant.class);
+        verify(studentRepository).purgeTombstones(cutoff.capture());
+        assertThat(cutoff.getValue()).isBefore(Instant.now().minus(Duration.ofDays(29)));
+    }
+}
@@ -0,0 +1,353 @@
+package com.projects.studentrestapi.stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projects.studentrestapi.entity.Student;
+import com.projects.studentrestapi.event.StudentChangedEvent;
+import com.projects.studentrestapi.event.StudentChangedEvent.ChangeType;
+import com.projects.studentrestapi.event.StudentsImportedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StudentChangeFeedTests {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private StudentChangeFeed changeFeed;
+
+    @AfterEach
+    public void tearDown() {
+        if (changeFeed != null) {
+            changeFeed.shutdown();
+        }
+    }
+
+    @DisplayName("JUnit test for fan-out of concurrent changes to thousands of subscribers")
+    @Test
+    public void givenThousandsOfSubscribers_whenStudentsChange_thenEverySubscriberGetsEveryChangeInOrder()
+            throws Exception {
+
+        // given
+        changeFeed = newFeed(StudentChangeFeed.OverflowPolicy.DISCONNECT, 256, 10_000);
+        int subscriberCount = 5000;
+        int changeCount = 200;
+        CountDownLatch delivered = new CountDownLatch(subscriberCount * changeCount);
+        List<RecordingEmitter> emitters = new ArrayList<>(subscriberCount);
+        for (int i = 0; i < subscriberCount; i++) {
+            RecordingEmitter emitter = new RecordingEmitter(delivered);
+            assertThat(changeFeed.subscribe(emitter, null)).isTrue();
+            emitters.add(emitter);
+        }
+        Map<Long, Long> publishedAt = new ConcurrentHashMap<>();
+
+        // when
+        ExecutorService writers = Executors.newFixedThreadPool(8);
+        for (long id = 1; id <= changeCount; id++) {
+            long studentId = id;
+            writers.execute(() -> {
+                publishedAt.put(studentId, System.nanoTime());
+                changeFeed.onStudentChanged(new StudentChangedEvent(studentId, ChangeType.UPDATED));
+            });
+        }
+        writers.shutdown();
+
+        // then
+        assertThat(delivered.await(30, TimeUnit.SECONDS)).isTrue();
+        long maxLatencyNanos = 0;
+        for (RecordingEmitter emitter : emitters) {
+            assertThat(emitter.sequences()).hasSize(changeCount).isSorted();
+            assertThat(emitter.studentIds()).containsExactlyInAnyOrderElementsOf(publishedAt.keySet());
+            for (Delivery delivery : emitter.deliveries) {
+                maxLatencyNanos = Math.max(maxLatencyNanos, delivery.receivedAt - publishedAt.get(delivery.studentId()));
+            }
+        }
+        assertThat(Duration.ofNanos(maxLatencyNanos)).isLessThan(Duration.ofSeconds(10));
+        assertThat(changeFeed.getSubscriberCount()).isEqualTo(subscriberCount);
+    }
+
+    @DisplayName("JUnit test for resuming a subscription from the Last-Event-ID")
+    @Test
+    public void givenLastEventId_whenSubscribe_thenReplayMissedChanges() throws Exception {
+
+        // given
+        changeFeed = newFeed(StudentChangeFeed.OverflowPolicy.DISCONNECT, 256, 10_000);
+        RecordingEmitter first = new RecordingEmitter(new CountDownLatch(1));
+        changeFeed.subscribe(first, null);
+        changeFeed.onStudentChanged(new StudentChangedEvent(100L, ChangeType.CREATED));
+        assertThat(first.delivered.await(5, TimeUnit.SECONDS)).isTrue();
+        changeFeed.onStudentChanged(new StudentChangedEvent(101L, ChangeType.UPDATED));
+        changeFeed.onStudentChanged(new StudentChangedEvent(102L, ChangeType.DELETED));
+
+        // when
+        RecordingEmitter resumed = new RecordingEmitter(new CountDownLatch(3));
+        changeFeed.subscribe(resumed, first.deliveries.get(0).eventId());
+        changeFeed.onStudentChanged(new StudentChangedEvent(103L, ChangeType.CREATED,
+                Student.builder().id(103L).email("jcena@gmail.com").build()));
+
+        // then
+        assertThat(resumed.delivered.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(resumed.studentIds()).containsExactly(101L, 102L, 103L);
+        assertThat(resumed.rawEvents.get(2)).contains("\"changeType\":\"CREATED\"").doesNotContain("jcena@gmail.com");
+    }
+
+    @DisplayName("JUnit test for resuming from an event id that can no longer be replayed")
+    @Test
+    public void givenUnknownLastEventId_whenSubscribe_thenSendResync() throws Exception {
+
+        // given
+        changeFeed = newFeed(StudentChangeFeed.OverflowPolicy.DISCONNECT, 256, 2);
+        RecordingEmitter first = new RecordingEmitter(new CountDownLatch(1));
+        changeFeed.subscribe(first, null);
+        changeFeed.onStudentChanged(new StudentChangedEvent(100L, ChangeType.CREATED));
+        assertThat(first.delivered.await(5, TimeUnit.SECONDS)).isTrue();
+        for (long id = 101; id <= 103; id++) {
+            changeFeed.onStudentChanged(new StudentChangedEvent(id, ChangeType.UPDATED));
+        }
+
+        // when
+        RecordingEmitter tooOld = new RecordingEmitter(new CountDownLatch(1));
+        changeFeed.subscribe(tooOld, first.deliveries.get(0).eventId());
+        RecordingEmitter otherNode = new RecordingEmitter(new CountDownLatch(1));
+        changeFeed.subscribe(otherNode, "abc-1");
+
+        // then
+        assertThat(tooOld.delivered.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(otherNode.delivered.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(tooOld.rawEvents).singleElement().asString().contains("event:resync");
+        assertThat(otherNode.rawEvents).singleElement().asString().contains("event:resync");
+    }
+
+    @DisplayName("JUnit test for telling subscribers to resync after an import")
+    @Test
+    public void givenImport_whenSubscribersResume_thenSendNumberedResync() throws Exception {
+
+        // given
+        changeFeed = newFeed(StudentChangeFeed.OverflowPolicy.DISCONNECT, 256, 10_000);
+        RecordingEmitter live = new RecordingEmitter(new CountDownLatch(2));
+        changeFeed.subscribe(live, null);
+        changeFeed.onStudentChanged(new StudentChangedEvent(100L, ChangeType.CREATED));
+
+        // when
+        changeFeed.onStudentsImported(new StudentsImportedEvent(5000));
+
+        // then
+        assertThat(live.delivered.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(live.rawEvents.get(1)).contains("event:resync").contains("id:");
+        RecordingEmitter resumed = new RecordingEmitter(new CountDownLatch(1));
+        changeFeed.subscribe(resumed, live.deliveries.get(0).eventId());
+        assertThat(resumed.delivered.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(resumed.rawEvents).singleElement().asString().contains("event:resync");
+    }
+
+    @DisplayName("JUnit test for disconnecting a subscriber that falls behind")
+    @Test
+    public void givenStalledSubscriber_whenBufferOverflows_thenDisconnectOnlyThatSubscriber() throws Exception {
+
+        // given
+        changeFeed = newFeed(StudentChangeFeed.OverflowPolicy.DISCONNECT, 4, 10_000);
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter stalled = new RecordingEmitter(new CountDownLatch(0), release);
+        RecordingEmitter healthy = new RecordingEmitter(new CountDownLatch(20));
+        changeFeed.subscribe(stalled, null);
+        changeFeed.subscribe(healthy, null);
+
+        // when
+        for (long id = 1; id <= 20; id++) {
+            changeFeed.onStudentChanged(new StudentChangedEvent(id, ChangeType.UPDATED));
+            // The healthy subscriber keeps up with the writes
+            awaitDeliveries(healthy, (int) id);
+        }
+
+        // then
+        assertThat(healthy.delivered.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(changeFeed.getSubscriberCount()).isEqualTo(1);
+        // Completed by its own dispatcher thread once the blocked send returns
+        release.countDown();
+        awaitCompletion(stalled);
+        assertThat(stalled.completed).isTrue();
+    }
+
+    @DisplayName("JUnit test for disconnecting a subscriber whose send blocks past the send timeout")
+    @Test
+    public void givenBlockedSend_whenSendTimeoutPasses_thenDisconnectAndKeepDeliveringToOthers() throws Exception {
+
+        // given
+        changeFeed = new StudentChangeFeed(objectMapper, 10_000, 256, StudentChangeFeed.OverflowPolicy.DISCONNECT,
+                100, Duration.ofMinutes(1), 1, Duration.ofMillis(50));
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter blocked = new RecordingEmitter(new CountDownLatch(0), release);
+        RecordingEmitter healthy = new RecordingEmitter(new CountDownLatch(2));
+        changeFeed.subscribe(blocked, null);
+        changeFeed.subscribe(healthy, null);
+        changeFeed.onStudentChanged(new StudentChangedEvent(100L, ChangeType.UPDATED));
+        Thread.sleep(100);
+
+        // when
+        changeFeed.disconnectStalledSubscribers();
+        changeFeed.onStudentChanged(new StudentChangedEvent(101L, ChangeType.UPDATED));
+
+        // then
+        // The only dispatcher thread is blocked, so the healthy subscriber is served by the one added in its place
+        assertThat(healthy.delivered.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(changeFeed.getSubscriberCount()).isEqualTo(1);
+        release.countDown();
+        awaitCompletion(blocked);
+        assertThat(blocked.completed).isTrue();
+    }
+
+    @DisplayName("JUnit test for dropping the oldest events of a subscriber that falls behind")
+    @Test
+    public void givenStalledSubscriber_whenBufferOverflowsWithDropOldest_thenKeepSubscriber() {
+
+        // given
+        changeFeed = newFeed(StudentChangeFeed.OverflowPolicy.DROP_OLDEST, 4, 10_000);
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter stalled = new RecordingEmitter(new CountDownLatch(0), release);
+        changeFeed.subscribe(stalled, null);
+
+        // when
+        for (long id = 1; id <= 20; id++) {
+            changeFeed.onStudentChanged(new StudentChangedEvent(id, ChangeType.UPDATED));
+        }
+
+        // then
+        assertThat(stalled.completed).isFalse();
+        assertThat(changeFeed.getSubscriberCount()).isEqualTo(1);
+        release.countDown();
+    }
+
+    @DisplayName("JUnit test for refusing subscribers over the limit")
+    @Test
+    public void givenFeedAtSubscriberLimit_whenSubscribe_thenRefuse() {
+
+        // given
+        changeFeed = new StudentChangeFeed(objectMapper, 1, 256, StudentChangeFeed.OverflowPolicy.DISCONNECT, 100,
+                Duration.ofMinutes(1), 1, Duration.ofSeconds(5));
+        Optional<SseEmitter> first = changeFeed.subscribe(null);
+
+        // when
+        Optional<SseEmitter> second = changeFeed.subscribe(null);
+
+        // then
+        assertThat(first).isPresent();
+        assertThat(second).isEmpty();
+    }
+
+    private StudentChangeFeed newFeed(StudentChangeFeed.OverflowPolicy overflowPolicy, int bufferSize, int replaySize) {
+        return new StudentChangeFeed(objectMapper, 10_000, bufferSize, overflowPolicy, replaySize,
+                Duration.ofMinutes(1), 4, Duration.ofSeconds(5));
+    }
+
+    private static void awaitDeliveries(RecordingEmitter emitter, int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (emitter.deliveries.size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+
+    private static void awaitCompletion(RecordingEmitter emitter) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!emitter.completed && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+
+    private record Delivery(String eventId, long studentId, long receivedAt) {
+
+        long sequence() {
+            return Long.parseLong(eventId.substring(eventId.lastIndexOf('-') + 1));
+        }
+    }
+
+    /**
+     * Emitter without an HTTP response behind it: records what would have been written.
+     */
+    private class RecordingEmitter extends SseEmitter {
+
+        // Sends to one emitter never overlap, but come from different dispatcher threads
+        private final List<Delivery> deliveries = Collections.synchronizedList(new ArrayList<>());
+
+        private final List<String> rawEvents = Collections.synchronizedList(new ArrayList<>());
+
+        private final CountDownLatch delivered;
+
+        private final CountDownLatch release;
+
+        private volatile boolean completed;
+
+        RecordingEmitter(CountDownLatch delivered) {
+            this(delivered, new CountDownLatch(0));
+        }
+
+        RecordingEmitter(CountDownLatch delivered, CountDownLatch release) {
+            this.delivered = delivered;
+            this.release = release;
+        }
+
+        @Override
+        public void send(Set<DataWithMediaType> frame) throws IOException {
+            try {
+                // A stalled client blocks the sending thread until released
+                release.await();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                throw new IOException(exception);
+            }
+            long receivedAt = System.nanoTime();
+            String event = frame.stream()
+                    .map(DataWithMediaType::getData)
+                    .map(Object::toString)
+                    .collect(Collectors.joining());
+            rawEvents.add(event);
+            String eventId = field(event, "id:");
+            // Named events (resync) carry no student
+            if (eventId != null && field(event, "event:") == null) {
+                long studentId = objectMapper.readTree(field(event, "data:")).get("id").asLong();
+                deliveries.add(new Delivery(eventId, studentId, receivedAt));
+            }
+            delivered.countDown();
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+            super.complete();
+        }
+
+        List<Long> sequences() {
+            return deliveries.stream().map(Delivery::sequence).toList();
+        }
+
+        List<Long> studentIds() {
+            return deliveries.stream().map(Delivery::studentId).toList();
+        }
+
+        private static String field(String event, String prefix) {
+            return event.lines()
+                    .filter(line -> line.startsWith(prefix))
+                    .map(line -> line.substring(prefix.length()))
+                    .findFirst()
+                    .orElse(null);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.projects.studentrestapi.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SingleFlightTests {
+
+    private static final int CALLERS = 200;
+
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+
+    @DisplayName("JUnit test for a thundering herd on one key sharing a single load")
+    @Test
+    public void givenConcurrentCallersForSameKey_whenExecute_thenLoadOnce() throws Exception {
+
+        // given
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+
+        // when
+        List<Future<String>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(executor.submit(() -> singleFlight.execute("jc@gmail.com", key -> {
+                    loads.incrementAndGet();
+                    await(release);
+                    return "student:" + key;
+                })));
+            }
+            // Let every caller reach the in-flight load before it completes
+            Thread.sleep(200);
+            release.countDown();
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("student:jc@gmail.com");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // then
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @DisplayName("JUnit test for sequential calls loading again")
+    @Test
+    public void givenCompletedLoad_whenExecuteAgain_thenLoadAgain() {
+
+        // given
+        AtomicInteger loads = new AtomicInteger();
+
+        // when
+        singleFlight.execute("jc@gmail.com", key -> "v" + loads.incrementAndGet());
+        String second = singleFlight.execute("jc@gmail.com", key -> "v" + loads.incrementAndGet());
+
+        // then
+        assertThat(second).isEqualTo("v2");
+    }
+
+    @DisplayName("JUnit test for a failed load propagating and not sticking")
+    @Test
+    public void givenFailingLoad_whenExecute_thenThrowAndAllowRetry() {
+
+        // when
+        assertThrows(IllegalStateException.class, () -> singleFlight.execute("jc@gmail.com", key -> {
+            throw new IllegalStateException("database unavailable");
+        }));
+        String retried = singleFlight.execute("jc@gmail.com", key -> "ok");
+
+        // then
+        assertThat(retried).isEqualTo("ok");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}